@@ -0,0 +1,80 @@
+package com.groupeisi.examm1gl.tools;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Étape de build qui précompresse les ressources statiques textuelles (CSS, JS, SVG...).
+ * Pour chaque fichier, une copie {@code .gz} compressée au niveau maximal est écrite à côté
+ * de l'original si elle est plus petite ; elle est ensuite servie telle quelle par
+ * l'{@code EncodedResourceResolver} aux clients qui acceptent l'encodage gzip,
+ * sans compression à la volée.
+ * Lancée par Maven (phase {@code process-classes}) avec le répertoire à traiter en argument,
+ * en mode fichier source ({@code java StaticAssetPrecompressor.java}) : l'outil n'est pas
+ * compilé avec l'application et ne figure pas dans le jar.
+ */
+public final class StaticAssetPrecompressor {
+
+    private static final Set<String> EXTENSIONS = Set.of("css", "js", "svg", "html", "json", "txt", "map");
+
+    private StaticAssetPrecompressor() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage : StaticAssetPrecompressor <répertoire>");
+        }
+        Path root = Paths.get(args[0]);
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile).filter(StaticAssetPrecompressor::isCompressible).toList();
+        }
+        int written = 0;
+        for (Path file : files) {
+            if (compress(file)) {
+                written++;
+            }
+        }
+        System.out.printf("[precompress] %d fichier(s) .gz écrit(s) sur %d dans %s%n", written, files.size(), root);
+    }
+
+    private static boolean isCompressible(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        int dot = name.lastIndexOf('.');
+        return dot > 0 && EXTENSIONS.contains(name.substring(dot + 1));
+    }
+
+    /**
+     * Écrit la version gzip du fichier ; la supprime si elle n'est pas plus petite que l'original.
+     */
+    private static boolean compress(Path file) throws IOException {
+        Path target = file.resolveSibling(file.getFileName() + ".gz");
+        if (Files.exists(target) && Files.getLastModifiedTime(target).compareTo(Files.getLastModifiedTime(file)) >= 0) {
+            return true;
+        }
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(target)) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            Files.copy(file, out);
+        }
+        if (Files.size(target) >= Files.size(file)) {
+            Files.delete(target);
+            return false;
+        }
+        return true;
+    }
+}
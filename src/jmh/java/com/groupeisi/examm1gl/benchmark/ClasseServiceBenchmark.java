@@ -0,0 +1,84 @@
+package com.groupeisi.examm1gl.benchmark;
+
+import com.groupeisi.examm1gl.ExamM1GlApplication;
+import com.groupeisi.examm1gl.dao.IClasseDao;
+import com.groupeisi.examm1gl.dao.ISectorDao;
+import com.groupeisi.examm1gl.dto.ClasseDto;
+import com.groupeisi.examm1gl.entity.ClasseEntity;
+import com.groupeisi.examm1gl.entity.SectorEntity;
+import com.groupeisi.examm1gl.service.IUClasseService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de {@link IUClasseService#getAll()} et {@link IUClasseService#get(Integer)}
+ * sur une base H2 en mémoire (configuration de test) alimentée avec 20 secteurs de 500 classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClasseServiceBenchmark {
+
+    private static final int SECTORS = 20;
+    private static final int CLASSES_PER_SECTOR = 500;
+
+    private ConfigurableApplicationContext context;
+    private IUClasseService classeService;
+    private final List<Integer> classeIds = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ExamM1GlApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN")
+                .run();
+        classeService = context.getBean(IUClasseService.class);
+
+        ISectorDao sectorDao = context.getBean(ISectorDao.class);
+        IClasseDao classeDao = context.getBean(IClasseDao.class);
+        for (int s = 0; s < SECTORS; s++) {
+            SectorEntity sector = sectorDao.save(new SectorEntity(null, "Secteur " + s, null, null, null));
+            List<ClasseEntity> classes = new ArrayList<>();
+            for (int c = 0; c < CLASSES_PER_SECTOR; c++) {
+                classes.add(new ClasseEntity(null, "Classe " + s + "-" + c, "Description de la classe " + c, sector, null, null));
+            }
+            classeDao.saveAll(classes).forEach(classe -> classeIds.add(classe.getId()));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ClasseDto> getAll() {
+        return classeService.getAll();
+    }
+
+    @Benchmark
+    public ClasseDto get() {
+        return classeService.get(classeIds.get(ThreadLocalRandom.current().nextInt(classeIds.size())));
+    }
+}
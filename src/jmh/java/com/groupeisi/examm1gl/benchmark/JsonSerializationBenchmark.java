@@ -0,0 +1,53 @@
+package com.groupeisi.examm1gl.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groupeisi.examm1gl.dto.ClasseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la sérialisation Jackson de listes de {@link ClasseDto},
+ * telle que faite par {@code GET /classes/api/classes}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<ClasseDto> classes;
+
+    @Setup
+    public void setUp() {
+        classes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            classes.add(new ClasseDto(i, "Classe " + i, "Description de la classe " + i, i % 20, "Secteur " + (i % 20)));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeClasseList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(classes);
+    }
+}
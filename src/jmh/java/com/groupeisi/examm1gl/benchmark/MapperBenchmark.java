@@ -0,0 +1,67 @@
+package com.groupeisi.examm1gl.benchmark;
+
+import com.groupeisi.examm1gl.dto.ClasseDto;
+import com.groupeisi.examm1gl.dto.SectorDto;
+import com.groupeisi.examm1gl.entity.ClasseEntity;
+import com.groupeisi.examm1gl.entity.SectorEntity;
+import com.groupeisi.examm1gl.mapper.ClasseMapper;
+import com.groupeisi.examm1gl.mapper.ClasseMapperImpl;
+import com.groupeisi.examm1gl.mapper.SectorMapper;
+import com.groupeisi.examm1gl.mapper.SectorMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark des mappers MapStruct sur des listes de tailles croissantes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private final ClasseMapper classeMapper = new ClasseMapperImpl();
+    private final SectorMapper sectorMapper = new SectorMapperImpl();
+
+    private List<ClasseEntity> classes;
+    private List<SectorEntity> sectors;
+
+    @Setup
+    public void setUp() {
+        classes = new ArrayList<>(size);
+        sectors = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            SectorEntity sector = new SectorEntity(i, "Secteur " + i, new ArrayList<>(), null, null);
+            sectors.add(sector);
+            classes.add(new ClasseEntity(i, "Classe " + i, "Description de la classe " + i, sector, null, null));
+        }
+    }
+
+    @Benchmark
+    public List<ClasseDto> classeEntitiesToDtos() {
+        return classeMapper.listClasseEntityToListClasseDto(classes);
+    }
+
+    @Benchmark
+    public List<SectorDto> sectorEntitiesToDtos() {
+        return sectorMapper.listSectorEntityToListSectorDto(sectors);
+    }
+}
@@ -0,0 +1,60 @@
+package com.groupeisi.examm1gl.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Configuration du cache applicatif en mémoire (Caffeine).
+ * Les caches sont bornés en taille et en durée de vie, et enregistrent leurs
+ * statistiques de hits/misses.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Cache de la liste complète des secteurs.
+     */
+    public static final String SECTORS = "sectors";
+    /**
+     * Cache des secteurs par identifiant.
+     */
+    public static final String SECTOR_BY_ID = "sectorById";
+    /**
+     * Cache des secteurs par nom.
+     */
+    public static final String SECTOR_BY_NAME = "sectorByName";
+    /**
+     * Cache des statistiques des classes, à durée de vie courte.
+     */
+    public static final String CLASSE_STATISTICS = "classeStatistics";
+
+    /**
+     * Gestionnaire de caches Caffeine.
+     * Il est enveloppé dans un proxy transactionnel : les mises en cache et les
+     * évictions faites dans une transaction ne sont appliquées qu'après son commit,
+     * ce qui évite de remettre en cache une valeur périmée avant la fin d'une écriture.
+     *
+     * @param sectorSpec Spécification Caffeine (taille, TTL) des caches de secteurs.
+     * @param statisticsSpec Spécification Caffeine du cache des statistiques.
+     * @return Le {@link CacheManager} de l'application.
+     */
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${app.cache.sectors.spec:maximumSize=1000,expireAfterWrite=10m,recordStats}") String sectorSpec,
+            @Value("${app.cache.statistics.spec:maximumSize=10,expireAfterWrite=5s,recordStats}") String statisticsSpec) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCacheSpecification(sectorSpec);
+        caffeineCacheManager.setCacheNames(List.of(SECTORS, SECTOR_BY_ID, SECTOR_BY_NAME));
+        caffeineCacheManager.registerCustomCache(CLASSE_STATISTICS, Caffeine.from(statisticsSpec).build());
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,27 @@
+package com.groupeisi.examm1gl.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Paramètres du rendu de la page de liste des classes (préfixe {@code app.classes.list}).
+ */
+@Component
+@ConfigurationProperties(prefix = "app.classes.list")
+@Getter
+@Setter
+public class ClasseListProperties {
+
+    /**
+     * Rendu progressif : les classes sont lues par lots au fil du rendu du tableau et la page
+     * est envoyée par morceaux, au lieu d'être construite après le chargement de toute la liste.
+     */
+    private boolean streaming = true;
+
+    /**
+     * Nombre de classes lues par lot en rendu progressif.
+     */
+    private int batchSize = 1000;
+}
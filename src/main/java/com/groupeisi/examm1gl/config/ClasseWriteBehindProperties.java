@@ -0,0 +1,58 @@
+package com.groupeisi.examm1gl.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Paramètres de l'écriture différée des créations de classes via l'API REST
+ * (préfixe {@code app.classes.write-behind}).
+ */
+@Component
+@ConfigurationProperties(prefix = "app.classes.write-behind")
+@Getter
+@Setter
+public class ClasseWriteBehindProperties {
+
+    /**
+     * Écriture différée : les créations sont validées, mises en file et acquittées (202),
+     * puis enregistrées par lots en arrière-plan. Désactivée, chaque création est enregistrée
+     * dans sa propre transaction avant la réponse (201).
+     */
+    private boolean enabled = false;
+
+    /**
+     * Nombre maximum de créations acceptées et pas encore enregistrées ; au-delà, les requêtes
+     * sont refusées (429).
+     */
+    private int queueCapacity = 10000;
+
+    /**
+     * Nombre maximum de créations enregistrées par transaction.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Attente maximale, après la première création d'un lot, pour compléter le lot avant de l'enregistrer.
+     */
+    private Duration linger = Duration.ofMillis(20);
+
+    /**
+     * Durée de conservation de l'état d'une création une fois enregistrée ou refusée.
+     */
+    private Duration statusRetention = Duration.ofMinutes(10);
+
+    /**
+     * Nombre maximum d'états de créations terminées conservés ; au-delà, les plus anciens sont
+     * oubliés avant la fin de leur durée de conservation.
+     */
+    private int maxRetainedStatuses = 100000;
+
+    /**
+     * Attente maximale, à l'arrêt de l'application, de l'enregistrement des créations en file.
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,40 @@
+package com.groupeisi.examm1gl.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Paramètres du registre des clés d'idempotence des créations via l'API REST
+ * (préfixe {@code app.idempotency}).
+ */
+@Component
+@ConfigurationProperties(prefix = "app.idempotency")
+@Getter
+@Setter
+public class IdempotencyProperties {
+
+    /**
+     * Durée pendant laquelle la réponse associée à une clé est rejouée.
+     */
+    private Duration ttl = Duration.ofHours(1);
+
+    /**
+     * Nombre de verrous (segments) du registre ; arrondi à la puissance de deux supérieure.
+     */
+    private int stripes = 64;
+
+    /**
+     * Nombre maximum de clés conservées par segment ; au-delà, les plus anciennes sont oubliées,
+     * à l'exception de celles dont la requête est en cours.
+     */
+    private int maxEntriesPerStripe = 4096;
+
+    /**
+     * Attente maximale d'un doublon pendant que la première requête est en cours de traitement.
+     */
+    private Duration waitTimeout = Duration.ofSeconds(5);
+}
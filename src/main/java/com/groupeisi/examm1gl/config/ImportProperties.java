@@ -0,0 +1,21 @@
+package com.groupeisi.examm1gl.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Paramètres de l'import en masse des classes (préfixe {@code app.import}).
+ */
+@Component
+@ConfigurationProperties(prefix = "app.import")
+@Getter
+@Setter
+public class ImportProperties {
+
+    /**
+     * Nombre de lignes enregistrées par transaction.
+     */
+    private int chunkSize = 500;
+}
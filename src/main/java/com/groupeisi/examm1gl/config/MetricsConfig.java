@@ -0,0 +1,56 @@
+package com.groupeisi.examm1gl.config;
+
+import com.groupeisi.examm1gl.metrics.SqlStatementInspector;
+import com.groupeisi.examm1gl.metrics.SqlTimingSessionEventListener;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.HibernateMetrics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration des métriques Micrometer propres à l'application.
+ * Les métriques HTTP, du pool Hikari, des caches et des repositories Spring Data
+ * sont fournies par Spring Boot Actuator ; s'y ajoutent ici les timers
+ * {@code @Timed} des services, les statistiques Hibernate et le comptage
+ * des requêtes SQL par requête HTTP.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Active la prise en compte de l'annotation {@link io.micrometer.core.annotation.Timed}.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Enregistre l'inspecteur qui compte les requêtes SQL de chaque requête HTTP
+     * et l'écouteur de session qui en mesure le temps d'exécution.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementInspectorCustomizer(SqlStatementInspector inspector) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingSessionEventListener.class.getName());
+        };
+    }
+
+    /**
+     * Publie les statistiques Hibernate (requêtes, chargements d'entités, cache de second niveau).
+     * Nécessite {@code hibernate.generate_statistics=true}.
+     */
+    @Bean
+    public MeterBinder hibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> new HibernateMetrics(entityManagerFactory.unwrap(SessionFactory.class), "default", Tags.empty())
+                .bindTo(registry);
+    }
+}
@@ -0,0 +1,29 @@
+package com.groupeisi.examm1gl.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Paramètres de la reprise des modifications internes après un conflit
+ * de verrouillage optimiste (préfixe {@code app.retry.optimistic}).
+ */
+@Component
+@ConfigurationProperties(prefix = "app.retry.optimistic")
+@Getter
+@Setter
+public class RetryProperties {
+
+    /**
+     * Nombre maximum de tentatives, la première comprise.
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * Attente avant la deuxième tentative ; elle double à chaque nouvelle tentative.
+     */
+    private Duration backoff = Duration.ofMillis(20);
+}
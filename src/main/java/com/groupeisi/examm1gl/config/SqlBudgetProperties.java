@@ -0,0 +1,80 @@
+package com.groupeisi.examm1gl.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Budget SQL accordé à chaque requête HTTP (préfixe {@code app.sql.budget}).
+ * Un avertissement est journalisé lorsqu'une requête dépasse le nombre de requêtes SQL
+ * ou le temps SQL autorisé ; chaque route peut surcharger les valeurs par défaut.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.sql.budget")
+@Getter
+@Setter
+public class SqlBudgetProperties {
+
+    /**
+     * Active le suivi du budget et le journal des requêtes lentes.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Nombre maximal de requêtes SQL par requête HTTP.
+     */
+    private int maxStatements = 20;
+
+    /**
+     * Temps SQL cumulé maximal par requête HTTP.
+     */
+    private Duration maxSqlTime = Duration.ofMillis(500);
+
+    /**
+     * Durée à partir de laquelle une requête SQL est journalisée comme lente.
+     */
+    private Duration slowQueryThreshold = Duration.ofMillis(200);
+
+    /**
+     * Proportion des requêtes SQL journalisées par échantillonnage (0 pour aucune, 1 pour toutes).
+     */
+    private double sampleRate;
+
+    /**
+     * Surcharges par route, indexées par motif de mapping (ex. {@code /classes/api/classes/import}).
+     */
+    private Map<String, Budget> endpoints = new HashMap<>();
+
+    /**
+     * Nombre maximal de requêtes SQL pour la route donnée.
+     */
+    public int maxStatementsFor(String uri) {
+        Budget budget = endpoints.get(uri);
+        return budget != null && budget.getMaxStatements() != null ? budget.getMaxStatements() : maxStatements;
+    }
+
+    /**
+     * Temps SQL maximal pour la route donnée.
+     */
+    public Duration maxSqlTimeFor(String uri) {
+        Budget budget = endpoints.get(uri);
+        return budget != null && budget.getMaxSqlTime() != null ? budget.getMaxSqlTime() : maxSqlTime;
+    }
+
+    /**
+     * Budget propre à une route ; une valeur absente reprend la valeur par défaut.
+     */
+    @Getter
+    @Setter
+    public static class Budget {
+
+        private Integer maxStatements;
+
+        private Duration maxSqlTime;
+    }
+}
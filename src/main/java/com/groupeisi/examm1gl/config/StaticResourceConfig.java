@@ -0,0 +1,151 @@
+package com.groupeisi.examm1gl.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Configuration du service des ressources statiques ({@code public/css}, {@code public/js}).
+ * Les URL sont versionnées par le hash du contenu ({@code /css/style-<md5>.css}, réécrites dans
+ * les templates via {@code @{...}}) : une ressource ne change jamais sous une URL versionnée, qui
+ * peut donc être mise en cache un an, sans revalidation. L'URL sans hash (ex. {@code /js/sector.js})
+ * reste servie, mais son contenu change à chaque déploiement : elle est revalidée à chaque usage.
+ * Les versions précompressées ({@code .gz}, {@code .br}) sont servies lorsque le client les accepte.
+ * Le gestionnaire par défaut de Spring Boot ({@code /**}) est désactivé
+ * ({@code spring.web.resources.add-mappings=false}) : sinon, la réécriture des URL testerait
+ * chaque lien des pages (ex. {@code /classes/modifie/42}) comme une ressource statique.
+ */
+@Configuration
+public class StaticResourceConfig implements WebMvcConfigurer {
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        for (String directory : new String[]{"css", "js"}) {
+            registry.addResourceHandler("/" + directory + "/**")
+                    .addResourceLocations("classpath:/public/" + directory + "/")
+                    .setCacheControl(CacheControl.noCache())
+                    .resourceChain(true)
+                    .addResolver(new EncodedResourceResolver())
+                    .addResolver(new ImmutableVersionResourceResolver().addContentVersionStrategy("/**"));
+        }
+        // Feuilles de style à la racine de public/, non versionnées
+        registry.addResourceHandler("/*.css").addResourceLocations("classpath:/public/");
+    }
+
+    /**
+     * Résolveur de versions qui marque comme immuables les seules ressources demandées
+     * sous leur URL versionnée : l'en-tête {@code Cache-Control} qu'elles portent remplace
+     * celui du gestionnaire.
+     */
+    private static class ImmutableVersionResourceResolver extends VersionResourceResolver {
+
+        @Override
+        protected Resource resolveResourceInternal(@Nullable HttpServletRequest request, String requestPath,
+                                                   List<? extends Resource> locations, ResourceResolverChain chain) {
+            Resource resource = super.resolveResourceInternal(request, requestPath, locations, chain);
+            if (resource == null || requestPath.endsWith(Objects.requireNonNullElse(resource.getFilename(), ""))) {
+                return resource;
+            }
+            return new ImmutableResource(resource);
+        }
+    }
+
+    /**
+     * Ressource déléguée qui ajoute l'en-tête {@code Cache-Control} immuable aux en-têtes
+     * de la ressource versionnée (dont l'ETag).
+     */
+    private static class ImmutableResource extends AbstractResource implements HttpResource {
+
+        private final Resource resource;
+
+        ImmutableResource(Resource resource) {
+            this.resource = resource;
+        }
+
+        @Override
+        public HttpHeaders getResponseHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            if (resource instanceof HttpResource httpResource) {
+                headers.putAll(httpResource.getResponseHeaders());
+            }
+            headers.setCacheControl(IMMUTABLE);
+            return headers;
+        }
+
+        @Override
+        public boolean exists() {
+            return resource.exists();
+        }
+
+        @Override
+        public boolean isReadable() {
+            return resource.isReadable();
+        }
+
+        @Override
+        public URL getURL() throws IOException {
+            return resource.getURL();
+        }
+
+        @Override
+        public URI getURI() throws IOException {
+            return resource.getURI();
+        }
+
+        @Override
+        public File getFile() throws IOException {
+            return resource.getFile();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return resource.contentLength();
+        }
+
+        @Override
+        public long lastModified() throws IOException {
+            return resource.lastModified();
+        }
+
+        @Override
+        public Resource createRelative(String relativePath) throws IOException {
+            return resource.createRelative(relativePath);
+        }
+
+        @Override
+        public String getFilename() {
+            return resource.getFilename();
+        }
+
+        @Override
+        public String getDescription() {
+            return resource.getDescription();
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return resource.getInputStream();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.groupeisi.examm1gl.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Précompile tous les templates Thymeleaf au démarrage, pour que la première requête
+ * après un déploiement ne paie pas leur lecture et leur analyse.
+ * Chaque template est préparé en mode différé ({@code processThrottled}), qui l'analyse et le
+ * place dans le cache sans l'exécuter : aucun modèle ni requête web n'est nécessaire.
+ * Sans effet lorsque le cache des templates est désactivé ({@code spring.thymeleaf.cache=false}).
+ */
+@Component
+public class TemplateWarmup {
+
+    private static final Logger log = LoggerFactory.getLogger(TemplateWarmup.class);
+
+    private final ITemplateEngine templateEngine;
+    private final ThymeleafProperties thymeleafProperties;
+    private final ResourcePatternResolver resourceResolver;
+
+    /**
+     * Constructeur pour l'injection du moteur de templates et de sa configuration.
+     * @param templateEngine Le moteur Thymeleaf utilisé par les vues.
+     * @param thymeleafProperties La configuration Thymeleaf (emplacement, suffixe, cache).
+     * @param resourceResolver Le résolveur utilisé pour lister les templates.
+     */
+    public TemplateWarmup(ITemplateEngine templateEngine, ThymeleafProperties thymeleafProperties,
+                          ResourcePatternResolver resourceResolver) {
+        this.templateEngine = templateEngine;
+        this.thymeleafProperties = thymeleafProperties;
+        this.resourceResolver = resourceResolver;
+    }
+
+    /**
+     * Analyse tous les templates une fois l'application démarrée.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() throws IOException {
+        if (!thymeleafProperties.isCache()) {
+            return;
+        }
+        long start = System.nanoTime();
+        String prefix = thymeleafProperties.getPrefix();
+        String suffix = thymeleafProperties.getSuffix();
+        Resource root = resourceResolver.getResource(prefix);
+        String rootUrl = root.getURL().toString();
+        int count = 0;
+        for (Resource template : resourceResolver.getResources(prefix + "**/*" + suffix)) {
+            String url = template.getURL().toString();
+            if (!url.startsWith(rootUrl)) {
+                continue;
+            }
+            String name = url.substring(rootUrl.length(), url.length() - suffix.length());
+            try {
+                templateEngine.processThrottled(name, new Context(Locale.getDefault()));
+                count++;
+            } catch (RuntimeException e) {
+                log.warn("Template {} non précompilé : {}", name, e.getMessage());
+            }
+        }
+        log.info("{} templates Thymeleaf précompilés en {} ms", count, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,45 @@
+package com.groupeisi.examm1gl.controller;
+
+import com.groupeisi.examm1gl.dto.AutocompleteDto;
+import com.groupeisi.examm1gl.service.IUAutocompleteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+/**
+ * Ce contrôleur sert l'autocomplétion des noms de classes et de secteurs
+ * (formulaires d'ajout et de modification, front-end), depuis un index en mémoire.
+ */
+@Controller
+@RequestMapping("/autocomplete")
+public class AutocompleteController {
+
+    private final IUAutocompleteService autocompleteService;
+
+    /**
+     * Constructeur pour l'injection du service d'autocomplétion.
+     * @param autocompleteService Le service qui tient l'index des noms.
+     */
+    @Autowired
+    public AutocompleteController(IUAutocompleteService autocompleteService) {
+        this.autocompleteService = autocompleteService;
+    }
+
+    /**
+     * Récupère les classes et les secteurs dont le nom commence par le préfixe saisi via une API REST.
+     * Aucune requête n'est faite à la base de données.
+     * @param q Le préfixe saisi (casse et accents ignorés).
+     * @param limit Nombre maximum de suggestions par type (optionnel, plafonné).
+     * @return Une ResponseEntity contenant les suggestions de classes et de secteurs.
+     */
+    @GetMapping("/api/suggestions")
+    @ResponseBody
+    public ResponseEntity<AutocompleteDto> suggest(@RequestParam(defaultValue = "") String q,
+                                                   @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(autocompleteService.suggest(q, limit));
+    }
+}
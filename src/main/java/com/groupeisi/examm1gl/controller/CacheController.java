@@ -0,0 +1,60 @@
+package com.groupeisi.examm1gl.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.groupeisi.examm1gl.dto.CacheStatsDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ce contrôleur expose les compteurs des caches applicatifs (hits, misses, évictions)
+ * afin de vérifier leur efficacité sous charge.
+ */
+@Controller
+@RequestMapping("/cache")
+public class CacheController {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Constructeur pour l'injection du gestionnaire de caches.
+     * @param cacheManager Le gestionnaire des caches de l'application.
+     */
+    @Autowired
+    public CacheController(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Récupère les statistiques de tous les caches via une API REST.
+     * @return Une ResponseEntity contenant les statistiques de chaque cache.
+     */
+    @GetMapping("/api/stats")
+    @ResponseBody
+    public ResponseEntity<List<CacheStatsDto>> getCacheStats() {
+        List<CacheStatsDto> stats = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof TransactionAwareCacheDecorator decorator) {
+                cache = decorator.getTargetCache();
+            }
+            if (cache instanceof CaffeineCache caffeineCache) {
+                com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+                CacheStats cacheStats = nativeCache.stats();
+                stats.add(new CacheStatsDto(name, cacheStats.hitCount(), cacheStats.missCount(),
+                        cacheStats.hitRate(), cacheStats.evictionCount(), nativeCache.estimatedSize()));
+            }
+        }
+        return ResponseEntity.ok(stats);
+    }
+}
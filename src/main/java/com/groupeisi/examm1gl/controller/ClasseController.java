@@ -1,21 +1,43 @@
 package com.groupeisi.examm1gl.controller;
 
+import com.groupeisi.examm1gl.config.ClasseListProperties;
+import com.groupeisi.examm1gl.dto.ClasseBulkRequestDto;
+import com.groupeisi.examm1gl.dto.ClasseBulkResultDto;
 import com.groupeisi.examm1gl.dto.ClasseDto;
+import com.groupeisi.examm1gl.dto.ClasseImportResultDto;
+import com.groupeisi.examm1gl.dto.ClassePageDto;
+import com.groupeisi.examm1gl.dto.ClasseSearchPageDto;
+import com.groupeisi.examm1gl.dto.ClasseStatisticsDto;
+import com.groupeisi.examm1gl.dto.ClasseWriteStatusDto;
+import com.groupeisi.examm1gl.dto.ExportFormat;
 import com.groupeisi.examm1gl.dto.SectorDto;
+import com.groupeisi.examm1gl.exception.ConcurrentUpdateException;
 import com.groupeisi.examm1gl.exception.EntityNotFoundException;
+import com.groupeisi.examm1gl.exception.QueueFullException;
 import com.groupeisi.examm1gl.service.IUClasseService;
+import com.groupeisi.examm1gl.service.IUClasseWriteBehindService;
 import com.groupeisi.examm1gl.service.IUSectorSrvice;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Ce contrôleur gère les requêtes liées à la gestion des classes.
@@ -27,26 +49,41 @@ public class ClasseController {
 
     private final IUClasseService classeService;
     private final IUSectorSrvice sectorService;
+    private final ClasseListProperties listProperties;
+    private final IdempotencyStore idempotencyStore;
+    private final IUClasseWriteBehindService writeBehindService;
 
     /**
      * Constructeur pour l'injection des dépendances des services Classe et Sector.
      * @param classeService Le service pour gérer la logique métier des classes.
      * @param sectorService Le service pour gérer la logique métier des secteurs.
+     * @param listProperties Les paramètres du rendu de la liste des classes.
+     * @param idempotencyStore Le registre des clés d'idempotence des créations.
+     * @param writeBehindService Le service d'écriture différée des créations.
      */
     @Autowired
-    public ClasseController(IUClasseService classeService, IUSectorSrvice sectorService) {
+    public ClasseController(IUClasseService classeService, IUSectorSrvice sectorService,
+                            ClasseListProperties listProperties, IdempotencyStore idempotencyStore,
+                            IUClasseWriteBehindService writeBehindService) {
         this.classeService = classeService;
         this.sectorService = sectorService;
+        this.listProperties = listProperties;
+        this.idempotencyStore = idempotencyStore;
+        this.writeBehindService = writeBehindService;
     }
 
     /**
      * Affiche la page de la liste de toutes les classes.
+     * En rendu progressif (par défaut), les classes sont lues par lots pendant le rendu du tableau :
+     * l'en-tête de la page et les premières lignes sont envoyés sans attendre la fin de la liste.
      * @param model Le modèle pour passer la liste des classes à la vue.
      * @return Le nom de la vue "classe/liste".
      */
     @GetMapping("/liste")
     public String viewClassesPage(Model model) {
-        model.addAttribute("classes", classeService.getAll());
+        model.addAttribute("classes", listProperties.isStreaming()
+                ? classeService.iterateAll(listProperties.getBatchSize())
+                : classeService.getAll());
         return "classe/liste";
     }
 
@@ -114,7 +151,7 @@ public class ClasseController {
      * @param result Les résultats de la validation du formulaire.
      * @param model Le modèle en cas d'erreur de validation.
      * @param redirectAttributes Attributs pour les messages de succès ou d'erreur après redirection.
-     * @return Une redirection vers la liste des classes.
+     * @return Une redirection vers la liste des classes, ou vers le formulaire si la classe a été modifiée entre-temps.
      */
     @PostMapping("/modifie")
     public String updateClasse(@Valid @ModelAttribute("classe") ClasseDto classeDto, BindingResult result, Model model, RedirectAttributes redirectAttributes) {
@@ -126,6 +163,10 @@ public class ClasseController {
         try {
             classeService.update(classeDto);
             redirectAttributes.addFlashAttribute("message", "Classe modifiée avec succès !");
+        } catch (ConcurrentUpdateException | OptimisticLockingFailureException e) {
+            // La classe a changé depuis l'ouverture du formulaire : il est rouvert avec les données à jour.
+            redirectAttributes.addFlashAttribute("error", "La classe a été modifiée entre-temps par un autre utilisateur. Vérifiez les données avant de l'enregistrer à nouveau.");
+            return "redirect:/classes/modifie/" + classeDto.getId();
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Une erreur est survenue lors de la modification.");
         }
@@ -153,25 +194,114 @@ public class ClasseController {
 
     /**
      * Récupère la liste de toutes les classes via une API REST.
-     * @return Une ResponseEntity contenant la liste des classes.
+     * La réponse porte un ETag calculé par agrégat ; si le client possède déjà la version
+     * courante, un statut 304 est renvoyé sans charger la liste. Aucun Last-Modified n'est envoyé :
+     * la date de dernière modification n'avance pas lors d'une suppression.
+     * @param webRequest La requête, pour l'évaluation des en-têtes conditionnels.
+     * @return Une ResponseEntity contenant la liste des classes, ou un statut 304 (NOT MODIFIED).
      */
     @GetMapping("/api/classes")
     @ResponseBody
-    public ResponseEntity<List<ClasseDto>> getAllClasses() {
+    public ResponseEntity<List<ClasseDto>> getAllClasses(WebRequest webRequest) {
+        if (ConditionalRequests.isListNotModified(webRequest, "classes", classeService.getListVersion())) {
+            return null;
+        }
         List<ClasseDto> classes = classeService.getAll();
         return ResponseEntity.ok(classes);
     }
 
+    /**
+     * Récupère une page de classes triées par nom via une API REST.
+     * La pagination se fait par curseur : le champ {@code nextCursor} de la réponse
+     * est à renvoyer dans le paramètre {@code cursor} pour obtenir la page suivante.
+     * @param cursor Curseur de la page précédente (optionnel).
+     * @param size Taille de page souhaitée (optionnelle, plafonnée).
+     * @param sectorId Filtre optionnel sur le secteur.
+     * @param prefix Filtre optionnel sur le début du nom de la classe.
+     * @return Une ResponseEntity contenant la page ou un statut 400 (BAD REQUEST) si le curseur est invalide.
+     */
+    @GetMapping("/api/classes/page")
+    @ResponseBody
+    public ResponseEntity<ClassePageDto> getClassesPage(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer size,
+                                                        @RequestParam(required = false) Integer sectorId,
+                                                        @RequestParam(required = false) String prefix) {
+        try {
+            return ResponseEntity.ok(classeService.getPage(cursor, size, sectorId, prefix));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Recherche des classes par fragment du nom ou de la description via une API REST.
+     * Les résultats sont classés par pertinence (nom identique, nom commençant par le fragment,
+     * nom le contenant, puis description seule) et paginés par numéro de page.
+     * @param q Le fragment recherché (au moins 3 caractères).
+     * @param page Numéro de la page, à partir de 0 (optionnel).
+     * @param size Taille de page souhaitée (optionnelle, plafonnée).
+     * @return Une ResponseEntity contenant la page de résultats ou un statut 400 (BAD REQUEST) si le fragment ou la page est invalide.
+     */
+    @GetMapping("/api/classes/search")
+    @ResponseBody
+    public ResponseEntity<ClasseSearchPageDto> searchClasses(@RequestParam String q,
+                                                             @RequestParam(required = false) Integer page,
+                                                             @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(classeService.search(q, page, size));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Récupère les statistiques des classes par secteur via une API REST.
+     * @return Une ResponseEntity contenant les totaux, le nombre de classes par secteur et les secteurs vides.
+     */
+    @GetMapping("/api/statistics")
+    @ResponseBody
+    public ResponseEntity<ClasseStatisticsDto> getStatistics() {
+        return ResponseEntity.ok(classeService.getStatistics());
+    }
+
+    /**
+     * Exporte toutes les classes en flux via une API REST.
+     * Les lignes sont écrites au fil de leur lecture en base : la réponse n'est
+     * jamais construite entièrement en mémoire.
+     * @param format Le format d'export : {@code csv} (par défaut) ou {@code ndjson}.
+     * @return Une ResponseEntity diffusant les classes, ou un statut 400 (BAD REQUEST) si le format est inconnu.
+     */
+    @GetMapping("/api/classes/export")
+    @ResponseBody
+    public ResponseEntity<StreamingResponseBody> exportClasses(@RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+        StreamingResponseBody body = out -> classeService.exportClasses(exportFormat, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, exportFormat.getContentType() + ";charset=UTF-8")
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"classes." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     /**
      * Récupère une classe par son identifiant via une API REST.
+     * Comme pour la liste, un statut 304 est renvoyé si le client possède déjà la version courante.
      * @param id L'identifiant de la classe.
-     * @return Une ResponseEntity contenant la classe ou un statut 404 si non trouvée.
+     * @param webRequest La requête, pour l'évaluation des en-têtes conditionnels.
+     * @return Une ResponseEntity contenant la classe, un statut 304 (NOT MODIFIED) ou un statut 404 si non trouvée.
      * @throws EntityNotFoundException Si aucune classe n'est trouvée avec l'identifiant donné.
      */
     @GetMapping("/api/classes/{id}")
     @ResponseBody
-    public ResponseEntity<ClasseDto> getClasseById(@PathVariable Integer id) {
+    public ResponseEntity<ClasseDto> getClasseById(@PathVariable Integer id, WebRequest webRequest) {
         try {
+            if (ConditionalRequests.isNotModified(webRequest, "classe-" + id, classeService.getVersion(id))) {
+                return null;
+            }
             ClasseDto classe = classeService.get(id);
             return ResponseEntity.ok(classe);
         } catch (EntityNotFoundException e) {
@@ -181,25 +311,87 @@ public class ClasseController {
 
     /**
      * Sauvegarde une nouvelle classe via une API REST.
+     * Avec un en-tête {@value IdempotencyStore#HEADER}, une nouvelle tentative de la même requête
+     * (après un délai dépassé côté client, par exemple) reçoit la réponse de la première sans créer de doublon.
+     * En écriture différée ({@code app.classes.write-behind.enabled}), la classe est validée puis mise en file :
+     * la réponse 202 (ACCEPTED) porte un identifiant de suivi, dont l'état est servi par {@link #getWriteStatus(String)}.
+     * @param idempotencyKey La clé d'idempotence fournie par le client, facultative.
      * @param classeDto L'objet ClasseDto à sauvegarder.
-     * @return Une ResponseEntity contenant la classe sauvegardée avec un statut 201 (CREATED) ou 400 (BAD REQUEST) en cas d'erreur.
+     * @return Une ResponseEntity contenant la classe sauvegardée avec un statut 201 (CREATED), ou son suivi avec un statut
+     * 202 (ACCEPTED) en écriture différée, ou 400 (BAD REQUEST) en cas d'erreur ; un statut 409 (CONFLICT) si la clé
+     * a servi pour une autre requête ou si la première est toujours en cours, 429 (TOO MANY REQUESTS) si la file est pleine.
      */
     @PostMapping("/api/classes")
     @ResponseBody
-    public ResponseEntity<ClasseDto> saveClasseApi(@RequestBody ClasseDto classeDto) {
+    public ResponseEntity<Object> saveClasseApi(
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @RequestBody ClasseDto classeDto) {
+        List<Object> fingerprint = Arrays.asList(classeDto.getClassName(), classeDto.getDescription(), classeDto.getIdSector());
+        return idempotencyStore.execute("classes", idempotencyKey, fingerprint, () -> {
+            try {
+                if (writeBehindService.isEnabled()) {
+                    ClasseWriteStatusDto status = writeBehindService.enqueue(classeDto);
+                    return ResponseEntity.accepted()
+                            .location(URI.create("/classes/api/classes/writes/" + status.getTrackingId()))
+                            .body(status);
+                }
+                ClasseDto savedClasse = classeService.save(classeDto);
+                return new ResponseEntity<>(savedClasse, HttpStatus.CREATED);
+            } catch (QueueFullException e) {
+                // Traduit en 429 (TOO MANY REQUESTS) par APIExceptionHandler.
+                throw e;
+            } catch (Exception e) {
+                return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+            }
+        });
+    }
+
+    /**
+     * Récupère l'état d'une création de classe acceptée en écriture différée.
+     * @param trackingId L'identifiant de suivi renvoyé avec le statut 202 (ACCEPTED).
+     * @return Une ResponseEntity contenant l'état de la création ({@code PENDING}, {@code SAVED} avec l'identifiant
+     * de la classe, ou {@code FAILED} avec le motif), ou un statut 404 (NOT FOUND) si l'identifiant est inconnu ou expiré.
+     */
+    @GetMapping("/api/classes/writes/{trackingId}")
+    @ResponseBody
+    public ResponseEntity<ClasseWriteStatusDto> getWriteStatus(@PathVariable String trackingId) {
         try {
-            ClasseDto savedClasse = classeService.save(classeDto);
-            return new ResponseEntity<>(savedClasse, HttpStatus.CREATED);
-        } catch (Exception e) {
-            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+            return ResponseEntity.ok(writeBehindService.getStatus(trackingId));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * Importe en masse des classes fournies sous forme de tableau JSON via une API REST.
+     * @param classes Les classes à importer.
+     * @return Une ResponseEntity contenant le compte rendu de l'import (lignes importées et erreurs par ligne).
+     */
+    @PostMapping(value = "/api/classes/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<ClasseImportResultDto> importClassesJson(@RequestBody List<ClasseDto> classes) {
+        return ResponseEntity.ok(classeService.importClasses(classes));
+    }
+
+    /**
+     * Importe en masse des classes fournies au format CSV via une API REST.
+     * Le corps de la requête est lu en flux, sans être chargé entièrement en mémoire.
+     * @param csv Le corps de la requête ({@code className,description,idSector}, en-tête facultatif).
+     * @return Une ResponseEntity contenant le compte rendu de l'import (lignes importées et erreurs par ligne).
+     */
+    @PostMapping(value = "/api/classes/import", consumes = "text/csv")
+    @ResponseBody
+    public ResponseEntity<ClasseImportResultDto> importClassesCsv(InputStream csv) {
+        return ResponseEntity.ok(classeService.importClassesCsv(csv));
+    }
+
     /**
      * Met à jour une classe existante via une API REST.
      * @param id L'identifiant de la classe à mettre à jour.
      * @param classeDto L'objet ClasseDto avec les données mises à jour.
-     * @return Une ResponseEntity contenant la classe mise à jour ou un statut 404 (NOT FOUND) ou 400 (BAD REQUEST) en cas d'erreur.
+     * Si le corps porte la version lue, la modification est refusée avec un statut 409 (CONFLICT)
+     * lorsque la classe a changé depuis.
+     * @return Une ResponseEntity contenant la classe mise à jour ou un statut 404 (NOT FOUND), 409 (CONFLICT) ou 400 (BAD REQUEST) en cas d'erreur.
      */
     @PutMapping("/api/classes/{id}")
     @ResponseBody
@@ -210,6 +402,9 @@ public class ClasseController {
             return ResponseEntity.ok(updatedClasse);
         } catch (EntityNotFoundException e) {
             return ResponseEntity.notFound().build();
+        } catch (ConcurrentUpdateException | OptimisticLockingFailureException e) {
+            // Traduit en 409 (CONFLICT) par APIExceptionHandler.
+            throw e;
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
         }
@@ -230,4 +425,49 @@ public class ClasseController {
             return ResponseEntity.notFound().build();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Supprime en masse des classes par leurs identifiants via une API REST.
+     * Les classes ne sont pas chargées : une requête DELETE par paquet d'identifiants.
+     * @param request La requête contenant les identifiants ({@code ids}).
+     * @return Une ResponseEntity contenant le nombre de classes supprimées, ou un statut 400 (BAD REQUEST) si la liste est vide.
+     */
+    @PostMapping("/api/classes/bulk-delete")
+    @ResponseBody
+    public ResponseEntity<ClasseBulkResultDto> deleteClassesApi(@RequestBody ClasseBulkRequestDto request) {
+        try {
+            return ResponseEntity.ok(classeService.deleteAllById(request.getIds()));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Supprime toutes les classes d'un secteur via une API REST ; le secteur est conservé.
+     * @param sectorId L'identifiant du secteur.
+     * @return Une ResponseEntity contenant le nombre de classes supprimées.
+     */
+    @DeleteMapping("/api/classes/by-sector/{sectorId}")
+    @ResponseBody
+    public ResponseEntity<ClasseBulkResultDto> deleteClassesBySectorApi(@PathVariable Integer sectorId) {
+        return ResponseEntity.ok(classeService.deleteAllBySector(sectorId));
+    }
+
+    /**
+     * Rattache en masse des classes à un autre secteur via une API REST.
+     * @param request La requête contenant les identifiants ({@code ids}) et le secteur cible ({@code idSector}).
+     * @return Une ResponseEntity contenant le nombre de classes modifiées, un statut 404 (NOT FOUND) si le secteur
+     * n'existe pas ou 400 (BAD REQUEST) si la requête est invalide ou qu'un nom est déjà utilisé dans le secteur cible.
+     */
+    @PostMapping("/api/classes/bulk-reassign")
+    @ResponseBody
+    public ResponseEntity<ClasseBulkResultDto> reassignClassesApi(@RequestBody ClasseBulkRequestDto request) {
+        try {
+            return ResponseEntity.ok(classeService.reassignSector(request.getIds(), request.getIdSector()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException | DataIntegrityViolationException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+}
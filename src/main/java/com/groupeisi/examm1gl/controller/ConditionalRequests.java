@@ -0,0 +1,54 @@
+package com.groupeisi.examm1gl.controller;
+
+import com.groupeisi.examm1gl.dto.VersionStampDto;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Validation des requêtes GET conditionnelles ({@code If-None-Match}, {@code If-Modified-Since})
+ * à partir d'un {@link VersionStampDto}, avant de charger et de sérialiser la ressource.
+ * Les ETags sont faibles : ils identifient le contenu, quel que soit son encodage de transfert.
+ */
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Positionne les en-têtes {@code ETag} et {@code Last-Modified} de la réponse et indique
+     * si le client possède déjà la représentation courante ; dans ce cas la réponse est
+     * passée en 304 (NOT MODIFIED) et le contrôleur doit retourner {@code null}.
+     * @param request La requête en cours.
+     * @param resource Nom de la ressource, préfixe de l'ETag (ex. {@code classe-1}).
+     * @param stamp Le validateur de la ressource.
+     * @return {@code true} si la ressource n'a pas été modifiée.
+     */
+    static boolean isNotModified(WebRequest request, String resource, VersionStampDto stamp) {
+        if (stamp.getLastModified() == null) {
+            return request.checkNotModified(eTag(resource, stamp));
+        }
+        return request.checkNotModified(eTag(resource, stamp), stamp.getLastModified().toEpochMilli());
+    }
+
+    /**
+     * Variante de {@link #isNotModified(WebRequest, String, VersionStampDto)} pour une liste :
+     * seul l'{@code ETag} est utilisé. La date de dernière modification d'une liste n'avance pas
+     * quand des lignes sont supprimées ; un client ne validant que par {@code If-Modified-Since}
+     * recevrait alors un 304 pour une liste périmée.
+     * @param request La requête en cours.
+     * @param resource Nom de la liste, préfixe de l'ETag (ex. {@code classes}).
+     * @param stamp Le validateur de la liste.
+     * @return {@code true} si la liste n'a pas été modifiée.
+     */
+    static boolean isListNotModified(WebRequest request, String resource, VersionStampDto stamp) {
+        return request.checkNotModified(eTag(resource, stamp));
+    }
+
+    /**
+     * ETag faible : la représentation reste la même, compressée ou non. Un ETag fort
+     * empêcherait Tomcat de compresser la réponse ({@code server.compression}).
+     */
+    private static String eTag(String resource, VersionStampDto stamp) {
+        return "W/\"" + resource + "-" + stamp.getCount() + "-" + stamp.getVersionSum() + "-"
+                + (stamp.getLastModified() != null ? stamp.getLastModified().toEpochMilli() : 0) + "\"";
+    }
+}
@@ -0,0 +1,224 @@
+package com.groupeisi.examm1gl.controller;
+
+import com.groupeisi.examm1gl.config.IdempotencyProperties;
+import com.groupeisi.examm1gl.exception.DuplicateException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Registre en mémoire des clés d'idempotence (en-tête {@value #HEADER}) des créations via l'API REST.
+ * La première requête portant une clé est exécutée et sa réponse enregistrée ; une nouvelle
+ * tentative avec la même clé reçoit la même réponse sans nouvelle création. Un doublon qui arrive
+ * pendant le traitement de la première requête attend sa réponse, dans la limite d'un délai.
+ * <p>
+ * Les clés sont réparties sur des segments, chacun protégé par son propre verrou : deux clés
+ * différentes ne se disputent un verrou que si elles tombent dans le même segment, et le verrou
+ * n'est tenu que le temps de consulter ou d'inscrire la clé, jamais pendant la création.
+ * Chaque segment conserve ses clés dans l'ordre d'inscription ; la durée de vie étant la même
+ * pour toutes, les clés expirées sont toujours en tête et sont purgées au fil des accès.
+ * Au-delà du nombre maximum de clés d'un segment, les plus anciennes clés dont la requête est
+ * terminée sont oubliées ; une clé dont la requête est en cours n'est jamais oubliée, sans quoi
+ * un doublon relancerait la création. Leur nombre est borné par celui des requêtes simultanées.
+ * Le registre ne fait aucun accès à la base ; il est propre à chaque instance de l'application.
+ */
+@Component
+public class IdempotencyStore {
+
+    /**
+     * Nom de l'en-tête portant la clé d'idempotence.
+     */
+    public static final String HEADER = "Idempotency-Key";
+    /**
+     * En-tête ajouté aux réponses rejouées.
+     */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final Stripe[] stripes;
+    private final long ttlNanos;
+    private final long waitTimeoutNanos;
+    private final int maxEntriesPerStripe;
+
+    public IdempotencyStore(IdempotencyProperties properties) {
+        int count = Integer.highestOneBit(Math.max(1, properties.getStripes() - 1)) << 1;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.waitTimeoutNanos = properties.getWaitTimeout().toNanos();
+        this.maxEntriesPerStripe = properties.getMaxEntriesPerStripe();
+    }
+
+    /**
+     * Exécute une création au plus une fois par clé d'idempotence.
+     * Seules les réponses 2xx sont conservées : après un échec, la clé peut être réutilisée.
+     *
+     * @param scope       Portée de la clé (une par endpoint), pour que deux endpoints ne partagent pas leurs clés.
+     * @param key         La clé fournie par le client, ou {@code null} : l'action est alors simplement exécutée.
+     * @param fingerprint Empreinte du contenu de la requête, comparée à celle de la première requête de la clé.
+     * @param action      La création à exécuter.
+     * @param <T>         Le type du corps de la réponse.
+     * @return La réponse de l'action, ou celle enregistrée pour la clé.
+     * @throws DuplicateException si la clé a déjà servi pour un autre contenu, ou si la première
+     *                            requête de la clé est toujours en cours au terme du délai d'attente.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(String scope, String key, Object fingerprint,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        String id = scope + ' ' + key;
+        Stripe stripe = stripes[spread(id.hashCode()) & (stripes.length - 1)];
+        long now = System.nanoTime();
+
+        Entry entry;
+        boolean first = false;
+        stripe.lock.lock();
+        try {
+            stripe.purge(now);
+            entry = stripe.entries.get(id);
+            if (entry == null) {
+                entry = new Entry(fingerprint, now + ttlNanos);
+                stripe.entries.put(id, entry);
+                first = true;
+                stripe.trim(maxEntriesPerStripe);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+
+        if (!Objects.equals(entry.fingerprint, fingerprint)) {
+            throw new DuplicateException("La clé d'idempotence " + key + " a déjà été utilisée pour une autre requête.");
+        }
+        if (first) {
+            return (ResponseEntity<T>) complete(stripe, id, entry, action);
+        }
+        try {
+            ResponseEntity<?> response = entry.response.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                return (ResponseEntity<T>) response;
+            }
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(response.getHeaders())
+                    .header(REPLAYED_HEADER, "true")
+                    .body((T) response.getBody());
+        } catch (TimeoutException e) {
+            throw new DuplicateException("La requête de clé d'idempotence " + key + " est toujours en cours de traitement.");
+        } catch (ExecutionException e) {
+            // La première requête a échoué sans réponse : la clé a été libérée, la création est retentée.
+            return execute(scope, key, fingerprint, action);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DuplicateException("La requête de clé d'idempotence " + key + " est toujours en cours de traitement.");
+        }
+    }
+
+    /**
+     * Nombre de clés conservées, expirées comprises tant qu'elles n'ont pas été purgées.
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.entries.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private <T> ResponseEntity<T> complete(Stripe stripe, String id, Entry entry, Supplier<ResponseEntity<T>> action) {
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            stripe.release(id, entry);
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            stripe.release(id, entry);
+        }
+        entry.response.complete(response);
+        return response;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Réponse, en cours ou enregistrée, associée à une clé.
+     */
+    private static final class Entry {
+        private final Object fingerprint;
+        private final long expiresAt;
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+
+        private Entry(Object fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Segment du registre : ses clés, dans l'ordre d'inscription, et le verrou qui les protège.
+     */
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+        /**
+         * Retire les clés expirées, toutes situées en tête. Appelé verrou tenu.
+         */
+        private void purge(long now) {
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next().getValue();
+                if (entry.expiresAt - now > 0 || !entry.response.isDone()) {
+                    return;
+                }
+                iterator.remove();
+            }
+        }
+
+        /**
+         * Retire les plus anciennes clés dont la requête est terminée, jusqu'à revenir à
+         * {@code maxEntries} clés ou à ne plus conserver que des requêtes en cours. Appelé verrou tenu.
+         */
+        private void trim(int maxEntries) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (entries.size() > maxEntries && iterator.hasNext()) {
+                if (iterator.next().response.isDone()) {
+                    iterator.remove();
+                }
+            }
+        }
+
+        /**
+         * Libère une clé dont la requête n'a pas abouti, si elle ne désigne pas déjà une autre requête.
+         */
+        private void release(String id, Entry entry) {
+            lock.lock();
+            try {
+                entries.remove(id, entry);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
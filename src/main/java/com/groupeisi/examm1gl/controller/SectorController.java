@@ -1,18 +1,22 @@
 package com.groupeisi.examm1gl.controller;
 
 import com.groupeisi.examm1gl.dto.SectorDto;
+import com.groupeisi.examm1gl.exception.ConcurrentUpdateException;
 import com.groupeisi.examm1gl.exception.EntityNotFoundException;
 import com.groupeisi.examm1gl.service.IUSectorSrvice;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -24,14 +28,17 @@ import java.util.List;
 public class SectorController {
 
     private final IUSectorSrvice sectorService;
+    private final IdempotencyStore idempotencyStore;
 
     /**
      * Constructeur pour l'injection de la dépendance du service Sector.
      * @param sectorService Le service pour gérer la logique métier des secteurs.
+     * @param idempotencyStore Le registre des clés d'idempotence des créations.
      */
     @Autowired
-    public SectorController(IUSectorSrvice sectorService) {
+    public SectorController(IUSectorSrvice sectorService, IdempotencyStore idempotencyStore) {
         this.sectorService = sectorService;
+        this.idempotencyStore = idempotencyStore;
     }
 
     /**
@@ -78,6 +85,10 @@ public class SectorController {
                 sectorService.add(sectorDto);
                 redirectAttributes.addFlashAttribute("message", "Secteur ajouté avec succès !");
             }
+        } catch (ConcurrentUpdateException | OptimisticLockingFailureException e) {
+            // Le secteur a changé depuis l'ouverture du formulaire : il est rouvert avec les données à jour.
+            redirectAttributes.addFlashAttribute("error", "Le secteur a été modifié entre-temps par un autre utilisateur. Vérifiez les données avant de l'enregistrer à nouveau.");
+            return "redirect:/sectors/modifie/" + sectorDto.getId();
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Une erreur est survenue lors de l'enregistrement.");
         }
@@ -124,25 +135,37 @@ public class SectorController {
 
     /**
      * Récupère la liste de tous les secteurs via une API REST.
-     * @return Une ResponseEntity contenant la liste des secteurs.
+     * La réponse porte un ETag calculé par agrégat ; si le client possède déjà la version
+     * courante, un statut 304 est renvoyé sans charger la liste. Aucun Last-Modified n'est envoyé :
+     * la date de dernière modification n'avance pas lors d'une suppression.
+     * @param webRequest La requête, pour l'évaluation des en-têtes conditionnels.
+     * @return Une ResponseEntity contenant la liste des secteurs, ou un statut 304 (NOT MODIFIED).
      */
     @GetMapping("/api/sectors")
     @ResponseBody
-    public ResponseEntity<List<SectorDto>> getAllSectors() {
+    public ResponseEntity<List<SectorDto>> getAllSectors(WebRequest webRequest) {
+        if (ConditionalRequests.isListNotModified(webRequest, "sectors", sectorService.getListVersion())) {
+            return null;
+        }
         List<SectorDto> sectors = sectorService.getAll();
         return ResponseEntity.ok(sectors);
     }
 
     /**
      * Récupère un secteur par son identifiant via une API REST.
+     * Comme pour la liste, un statut 304 est renvoyé si le client possède déjà la version courante.
      * @param id L'identifiant du secteur.
-     * @return Une ResponseEntity contenant le secteur ou un statut 404 si non trouvé.
+     * @param webRequest La requête, pour l'évaluation des en-têtes conditionnels.
+     * @return Une ResponseEntity contenant le secteur, un statut 304 (NOT MODIFIED) ou un statut 404 si non trouvé.
      * @throws EntityNotFoundException Si aucun secteur n'est trouvé avec l'identifiant donné.
      */
     @GetMapping("/api/sectors/{id}")
     @ResponseBody
-    public ResponseEntity<SectorDto> getSectorById(@PathVariable Integer id) {
+    public ResponseEntity<SectorDto> getSectorById(@PathVariable Integer id, WebRequest webRequest) {
         try {
+            if (ConditionalRequests.isNotModified(webRequest, "sector-" + id, sectorService.getVersion(id))) {
+                return null;
+            }
             SectorDto sector = sectorService.get(id);
             return ResponseEntity.ok(sector);
         } catch (EntityNotFoundException e) {
@@ -152,25 +175,35 @@ public class SectorController {
 
     /**
      * Sauvegarde un nouveau secteur via une API REST.
+     * Avec un en-tête {@value IdempotencyStore#HEADER}, une nouvelle tentative de la même requête
+     * reçoit la réponse de la première sans créer de doublon.
+     * @param idempotencyKey La clé d'idempotence fournie par le client, facultative.
      * @param sectorDto L'objet SectorDto à sauvegarder.
-     * @return Une ResponseEntity contenant le secteur sauvegardé avec un statut 201 (CREATED) ou 400 (BAD REQUEST) en cas d'erreur.
+     * @return Une ResponseEntity contenant le secteur sauvegardé avec un statut 201 (CREATED) ou 400 (BAD REQUEST) en cas d'erreur,
+     * ou un statut 409 (CONFLICT) si la clé a servi pour une autre requête ou si la première est toujours en cours.
      */
     @PostMapping("/api/sectors")
     @ResponseBody
-    public ResponseEntity<SectorDto> saveSectorApi(@RequestBody SectorDto sectorDto) {
-        try {
-            SectorDto savedSector = sectorService.add(sectorDto);
-            return new ResponseEntity<>(savedSector, HttpStatus.CREATED);
-        } catch (Exception e) {
-            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
-        }
+    public ResponseEntity<SectorDto> saveSectorApi(
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @RequestBody SectorDto sectorDto) {
+        return idempotencyStore.execute("sectors", idempotencyKey, Arrays.asList(sectorDto.getName()), () -> {
+            try {
+                SectorDto savedSector = sectorService.add(sectorDto);
+                return new ResponseEntity<>(savedSector, HttpStatus.CREATED);
+            } catch (Exception e) {
+                return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+            }
+        });
     }
 
     /**
      * Met à jour un secteur existant via une API REST.
      * @param id L'identifiant du secteur à mettre à jour.
      * @param sectorDto L'objet SectorDto avec les données mises à jour.
-     * @return Une ResponseEntity contenant le secteur mis à jour ou un statut 404 (NOT FOUND) ou 400 (BAD REQUEST) en cas d'erreur.
+     * Si le corps porte la version lue, la modification est refusée avec un statut 409 (CONFLICT)
+     * lorsque le secteur a changé depuis.
+     * @return Une ResponseEntity contenant le secteur mis à jour ou un statut 404 (NOT FOUND), 409 (CONFLICT) ou 400 (BAD REQUEST) en cas d'erreur.
      */
     @PutMapping("/api/sectors/{id}")
     @ResponseBody
@@ -181,6 +214,9 @@ public class SectorController {
             return ResponseEntity.ok(updatedSector);
         } catch (EntityNotFoundException e) {
             return ResponseEntity.notFound().build();
+        } catch (ConcurrentUpdateException | OptimisticLockingFailureException e) {
+            // Traduit en 409 (CONFLICT) par APIExceptionHandler.
+            throw e;
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
         }
@@ -1,14 +1,24 @@
 package com.groupeisi.examm1gl.dao;
 
+import com.groupeisi.examm1gl.dto.ClasseDto;
+import com.groupeisi.examm1gl.dto.SectorStatisticsDto;
 import com.groupeisi.examm1gl.entity.ClasseEntity;
+import com.groupeisi.examm1gl.entity.SectorEntity;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,11 +27,14 @@ import java.util.Optional;
  * Elle utilise l'API Criteria de JPA pour construire dynamiquement des requêtes.
  */
 @Repository
+@Timed(value = "app.repository", description = "Durée des requêtes du DAO Criteria", percentiles = {0.5, 0.95, 0.99})
 @AllArgsConstructor
 public class ClasseDao {
 
     private EntityManager em;
 
+    private EntityManagerFactory entityManagerFactory;
+
     /**
      * Recherche une classe par son nom.
      * Cette méthode construit une requête Criteria pour trouver l'entité
@@ -104,4 +117,203 @@ public class ClasseDao {
 
         return Optional.ofNullable(em.createQuery(cr).getSingleResult());
     }
-}
\ No newline at end of file
+
+    /**
+     * Compte le nombre de classes de chaque secteur, en une seule requête GROUP BY.
+     * La jointure externe depuis les secteurs fait apparaître les secteurs sans classe
+     * avec un compte de zéro.
+     *
+     * @return La liste des secteurs avec leur nombre de classes, triée par nom de secteur.
+     */
+    public List<SectorStatisticsDto> countClassesPerSector() {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<SectorStatisticsDto> cr = cb.createQuery(SectorStatisticsDto.class);
+        Root<SectorEntity> sector = cr.from(SectorEntity.class);
+        Join<SectorEntity, ClasseEntity> classe = sector.join("classes", JoinType.LEFT);
+
+        cr.select(cb.construct(SectorStatisticsDto.class, sector.get("id"), sector.get("name"), cb.count(classe.get("id"))));
+        cr.groupBy(sector.get("id"), sector.get("name"));
+        cr.orderBy(cb.asc(sector.get("name")));
+
+        return em.createQuery(cr).getResultList();
+    }
+
+    /**
+     * Récupère une page de classes triées par nom puis par identifiant, en pagination
+     * par curseur (keyset) : au lieu d'un OFFSET, la requête reprend strictement après
+     * le couple {@code (afterClassName, afterId)} de la dernière ligne de la page précédente.
+     * Le coût d'une page est ainsi le même quelle que soit sa profondeur.
+     * Le secteur est chargé par jointure pour éviter une requête par secteur au mapping.
+     *
+     * @param afterClassName Nom de la dernière classe de la page précédente, ou {@code null} pour la première page.
+     * @param afterId        Identifiant de la dernière classe de la page précédente, ou {@code null} pour la première page.
+     * @param sectorId       Filtre optionnel sur l'identifiant du secteur.
+     * @param namePrefix     Filtre optionnel sur le début du nom de la classe.
+     * @param limit          Nombre maximum de lignes à retourner.
+     * @return La liste des classes de la page, éventuellement vide.
+     */
+    public List<ClasseEntity> findPageOrderByClassName(String afterClassName, Integer afterId,
+                                                       Integer sectorId, String namePrefix, int limit) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<ClasseEntity> cr = cb.createQuery(ClasseEntity.class);
+        Root<ClasseEntity> classe = cr.from(ClasseEntity.class);
+        classe.fetch("sector", JoinType.INNER);
+
+        Path<String> className = classe.get("className");
+        Path<Integer> id = classe.get("id");
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (afterClassName != null && afterId != null) {
+            predicates.add(after(cb, className, id, afterClassName, afterId));
+        }
+        if (sectorId != null) {
+            predicates.add(cb.equal(classe.get("sector").get("id"), sectorId));
+        }
+        if (namePrefix != null && !namePrefix.isEmpty()) {
+            predicates.add(cb.like(className, escapeLike(namePrefix) + "%", '\\'));
+        }
+
+        cr.select(classe);
+        cr.where(predicates.toArray(new Predicate[0]));
+        cr.orderBy(cb.asc(className), cb.asc(id));
+
+        return em.createQuery(cr)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Variante de {@link #findPageOrderByClassName} qui projette directement les lignes en
+     * {@link ClasseDto} (nom du secteur compris), sans hydrater d'entités ni alimenter le cache
+     * de second niveau : adaptée au parcours complet de la liste par lots.
+     *
+     * @param afterClassName Nom de la dernière classe du lot précédent, ou {@code null} pour le premier lot.
+     * @param afterId        Identifiant de la dernière classe du lot précédent, ou {@code null} pour le premier lot.
+     * @param limit          Nombre maximum de lignes à retourner.
+     * @return Les classes du lot, éventuellement vide.
+     */
+    public List<ClasseDto> findDtoPageOrderByClassName(String afterClassName, Integer afterId, int limit) {
+        return findDtoPageOrderByClassName(em, afterClassName, afterId, limit);
+    }
+
+    /**
+     * Variante de {@link #findDtoPageOrderByClassName(String, Integer, int)} exécutée dans un
+     * EntityManager propre, fermé dès le lot lu : la connexion est rendue au pool entre deux lots,
+     * même lorsque l'EntityManager de la requête HTTP reste ouvert jusqu'à la fin du rendu
+     * ({@code spring.jpa.open-in-view}). À appeler hors transaction.
+     *
+     * @param afterClassName Nom de la dernière classe du lot précédent, ou {@code null} pour le premier lot.
+     * @param afterId        Identifiant de la dernière classe du lot précédent, ou {@code null} pour le premier lot.
+     * @param limit          Nombre maximum de lignes à retourner.
+     * @return Les classes du lot, éventuellement vide.
+     */
+    public List<ClasseDto> findDtoPageOrderByClassNameInOwnSession(String afterClassName, Integer afterId, int limit) {
+        try (EntityManager batchEm = entityManagerFactory.createEntityManager()) {
+            return findDtoPageOrderByClassName(batchEm, afterClassName, afterId, limit);
+        }
+    }
+
+    private List<ClasseDto> findDtoPageOrderByClassName(EntityManager em, String afterClassName, Integer afterId, int limit) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<ClasseDto> cr = cb.createQuery(ClasseDto.class);
+        Root<ClasseEntity> classe = cr.from(ClasseEntity.class);
+        // Jointure externe (équivalente, sector_id étant obligatoire) : la table des classes reste
+        // la table directrice et la page est lue dans l'ordre de l'index (class_name, id).
+        Join<ClasseEntity, SectorEntity> sector = classe.join("sector", JoinType.LEFT);
+
+        Path<String> className = classe.get("className");
+        Path<Integer> id = classe.get("id");
+
+        cr.select(cb.construct(ClasseDto.class, id, className, classe.get("description"),
+                sector.get("id"), sector.get("name"), classe.get("version")));
+        if (afterClassName != null && afterId != null) {
+            cr.where(after(cb, className, id, afterClassName, afterId));
+        }
+        cr.orderBy(cb.asc(className), cb.asc(id));
+
+        return em.createQuery(cr)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Recherche les classes dont le nom ou la description contient un fragment, sans tenir
+     * compte de la casse. Les résultats sont classés par pertinence : nom identique au fragment,
+     * nom commençant par le fragment, nom le contenant, puis description seule ; à pertinence
+     * égale, par nom et identifiant.
+     * Les comparaisons portent sur {@code lower(class_name)} et {@code lower(description)},
+     * les expressions couvertes par les index trigrammes (pg_trgm) sous PostgreSQL ; sur une
+     * autre base, la même requête s'exécute par parcours de la table.
+     *
+     * @param fragment Le fragment recherché, déjà normalisé en minuscules.
+     * @param offset   Nombre de résultats à ignorer.
+     * @param limit    Nombre maximum de résultats à retourner.
+     * @return Les classes trouvées, projetées en {@link ClasseDto}.
+     */
+    public List<ClasseDto> search(String fragment, int offset, int limit) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<ClasseDto> cr = cb.createQuery(ClasseDto.class);
+        Root<ClasseEntity> classe = cr.from(ClasseEntity.class);
+        Join<ClasseEntity, SectorEntity> sector = classe.join("sector", JoinType.INNER);
+
+        Path<String> className = classe.get("className");
+        Expression<String> name = cb.lower(className);
+        Expression<String> description = cb.lower(classe.get("description"));
+        String escaped = escapeLike(fragment);
+        String contains = "%" + escaped + "%";
+
+        Expression<Integer> rank = cb.<Integer>selectCase()
+                .when(cb.equal(name, fragment), 0)
+                .when(cb.like(name, escaped + "%", '\\'), 1)
+                .when(cb.like(name, contains, '\\'), 2)
+                .otherwise(3);
+
+        cr.select(cb.construct(ClasseDto.class, classe.get("id"), className, classe.get("description"),
+                sector.get("id"), sector.get("name"), classe.get("version")));
+        cr.where(cb.or(cb.like(name, contains, '\\'), cb.like(description, contains, '\\')));
+        cr.orderBy(cb.asc(rank), cb.asc(className), cb.asc(classe.get("id")));
+
+        return em.createQuery(cr)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Condition de reprise d'une pagination par curseur : lignes strictement après
+     * le couple {@code (afterClassName, afterId)} dans l'ordre (nom, identifiant).
+     * La borne {@code className >= afterClassName} en tête permet un parcours par intervalle
+     * de l'index {@code (class_name, id)} au lieu d'un tri complet de la table à chaque page.
+     */
+    private static Predicate after(CriteriaBuilder cb, Path<String> className, Path<Integer> id,
+                                   String afterClassName, Integer afterId) {
+        return cb.and(
+                cb.greaterThanOrEqualTo(className, afterClassName),
+                cb.or(cb.greaterThan(className, afterClassName), cb.greaterThan(id, afterId))
+        );
+    }
+
+    /**
+     * Insère une liste de nouvelles classes puis vide le contexte de persistance.
+     * Les INSERT sont regroupés en lots JDBC par Hibernate lors du flush ; le clear
+     * final libère les entités pour que la mémoire reste stable d'un lot à l'autre.
+     * Doit être appelée dans une transaction.
+     *
+     * @param classes Les classes à insérer, sans identifiant.
+     */
+    public void insertAll(List<ClasseEntity> classes) {
+        classes.forEach(em::persist);
+        em.flush();
+        em.clear();
+    }
+
+    /**
+     * Échappe les caractères spéciaux de LIKE pour qu'un préfixe saisi par
+     * l'utilisateur soit comparé littéralement.
+     */
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -1,18 +1,81 @@
 package com.groupeisi.examm1gl.dao;
 
+import com.groupeisi.examm1gl.dto.ClasseDto;
+import com.groupeisi.examm1gl.dto.VersionStampDto;
 import com.groupeisi.examm1gl.entity.ClasseEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface IClasseDao extends JpaRepository<ClasseEntity, Integer> {
 
-    // Méthode pour trouver une classe par son nom
+    // Méthode pour trouver une classe par son nom (résultat conservé dans le cache de requêtes Hibernate)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<ClasseEntity> findByClassName(String className);
 
     // Méthode pour trouver toutes les classes d'un secteur par son ID
     List<ClasseEntity> findBySectorId(Integer sectorId);
-}
\ No newline at end of file
+
+    // Charge toutes les classes avec leur secteur en une seule requête (évite le N+1 du mapper)
+    @Query("SELECT c FROM ClasseEntity c JOIN FETCH c.sector")
+    List<ClasseEntity> findAllWithSector();
+
+    // Projection directe en DTO (lecture seule) : aucune entité n'est chargée dans le contexte de persistance
+    @Query("SELECT new com.groupeisi.examm1gl.dto.ClasseDto(c.id, c.className, c.description, s.id, s.name, c.version) "
+            + "FROM ClasseEntity c JOIN c.sector s")
+    List<ClasseDto> findAllAsDto();
+
+    // Flux de toutes les classes projetées en DTO, lues par blocs via un curseur JDBC (pour l'export).
+    // Le Stream doit être consommé puis fermé dans une transaction.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.groupeisi.examm1gl.dto.ClasseDto(c.id, c.className, c.description, s.id, s.name, c.version) "
+            + "FROM ClasseEntity c JOIN c.sector s ORDER BY c.id")
+    Stream<ClasseDto> streamAllAsDto();
+
+    // Projection directe en DTO d'une classe par son identifiant
+    @Query("SELECT new com.groupeisi.examm1gl.dto.ClasseDto(c.id, c.className, c.description, s.id, s.name, c.version) "
+            + "FROM ClasseEntity c JOIN c.sector s WHERE c.id = :id")
+    Optional<ClasseDto> findDtoById(@Param("id") Integer id);
+
+    // Validateur HTTP de la liste des classes, calculé par agrégat sans charger les lignes
+    @Query("SELECT new com.groupeisi.examm1gl.dto.VersionStampDto(COUNT(c), COALESCE(SUM(c.version), 0), MAX(c.updatedAt)) "
+            + "FROM ClasseEntity c")
+    VersionStampDto findVersionStamp();
+
+    // Validateur HTTP d'une classe, qui tient compte de la version du secteur dont elle affiche le nom
+    @Query("SELECT new com.groupeisi.examm1gl.dto.VersionStampDto(COUNT(c), COALESCE(SUM(c.version + s.version), 0), "
+            + "MAX(GREATEST(c.updatedAt, s.updatedAt))) FROM ClasseEntity c JOIN c.sector s WHERE c.id = :id")
+    VersionStampDto findVersionStampById(@Param("id") Integer id);
+
+    // Supprime toutes les classes d'un secteur en une seule requête, sans les charger ; retourne le nombre de lignes supprimées.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ClasseEntity c WHERE c.sector.id = :sectorId")
+    int deleteAllBySectorId(@Param("sectorId") Integer sectorId);
+
+    // Supprime les classes d'identifiants donnés en une seule requête, sans les charger ; retourne le nombre de lignes supprimées.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ClasseEntity c WHERE c.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Rattache les classes d'identifiants donnés à un autre secteur en une seule requête ; retourne le nombre de lignes modifiées.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ClasseEntity c SET c.sector.id = :sectorId, c.version = c.version + 1, c.updatedAt = :updatedAt "
+            + "WHERE c.id IN :ids")
+    int updateSectorByIdIn(@Param("ids") Collection<Integer> ids, @Param("sectorId") Integer sectorId,
+                           @Param("updatedAt") Instant updatedAt);
+}
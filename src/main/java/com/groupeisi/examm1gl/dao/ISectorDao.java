@@ -1,14 +1,52 @@
 package com.groupeisi.examm1gl.dao;
 
+import com.groupeisi.examm1gl.dto.SectorDto;
+import com.groupeisi.examm1gl.dto.VersionStampDto;
 import com.groupeisi.examm1gl.entity.SectorEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ISectorDao extends JpaRepository<SectorEntity, Integer> {
 
-    // Méthode pour trouver un secteur par son nom
+    // Méthode pour trouver un secteur par son nom (résultat conservé dans le cache de requêtes Hibernate)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<SectorEntity> findByName(String name);
-}
\ No newline at end of file
+
+    // Projections directes en DTO (lecture seule) : aucune entité n'est chargée dans le contexte de persistance
+    @Query("SELECT new com.groupeisi.examm1gl.dto.SectorDto(s.id, s.name, s.version) FROM SectorEntity s")
+    List<SectorDto> findAllAsDto();
+
+    @Query("SELECT new com.groupeisi.examm1gl.dto.SectorDto(s.id, s.name, s.version) FROM SectorEntity s WHERE s.id = :id")
+    Optional<SectorDto> findDtoById(@Param("id") Integer id);
+
+    @Query("SELECT new com.groupeisi.examm1gl.dto.SectorDto(s.id, s.name, s.version) FROM SectorEntity s WHERE s.name = :name")
+    Optional<SectorDto> findDtoByName(@Param("name") String name);
+
+    // Validateurs HTTP de la liste des secteurs et d'un secteur, calculés par agrégat sans charger les lignes
+    @Query("SELECT new com.groupeisi.examm1gl.dto.VersionStampDto(COUNT(s), COALESCE(SUM(s.version), 0), MAX(s.updatedAt)) "
+            + "FROM SectorEntity s")
+    VersionStampDto findVersionStamp();
+
+    @Query("SELECT new com.groupeisi.examm1gl.dto.VersionStampDto(COUNT(s), COALESCE(SUM(s.version), 0), MAX(s.updatedAt)) "
+            + "FROM SectorEntity s WHERE s.id = :id")
+    VersionStampDto findVersionStampById(@Param("id") Integer id);
+
+    // Identifiants de tous les secteurs, pour valider les lignes d'un import sans requête par ligne
+    @Query("SELECT s.id FROM SectorEntity s")
+    List<Integer> findAllIds();
+
+    // Supprime un secteur en une seule requête, sans le charger ni parcourir ses classes ; retourne le nombre de lignes supprimées.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM SectorEntity s WHERE s.id = :id")
+    int deleteInBulkById(@Param("id") Integer id);
+}
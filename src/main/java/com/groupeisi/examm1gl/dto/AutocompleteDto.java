@@ -0,0 +1,22 @@
+package com.groupeisi.examm1gl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Réponse de l'autocomplétion : classes et secteurs dont le nom commence par le préfixe saisi.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutocompleteDto implements Serializable {
+
+    private List<SuggestionDto> classes;
+    private List<SuggestionDto> sectors;
+}
@@ -0,0 +1,25 @@
+package com.groupeisi.examm1gl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * Statistiques d'utilisation d'un cache applicatif.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDto implements Serializable {
+
+    private String name;
+    private long hits;
+    private long misses;
+    private double hitRate;
+    private long evictions;
+    private long size;
+}
@@ -0,0 +1,25 @@
+package com.groupeisi.examm1gl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Requête d'une opération en masse sur des classes : identifiants visés et,
+ * pour un changement de secteur, le secteur cible.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClasseBulkRequestDto implements Serializable {
+
+    private List<Integer> ids;
+
+    // Secteur cible (changement de secteur uniquement)
+    private Integer idSector;
+}
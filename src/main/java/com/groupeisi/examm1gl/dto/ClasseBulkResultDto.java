@@ -0,0 +1,24 @@
+package com.groupeisi.examm1gl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * Compte rendu d'une opération en masse sur des classes.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClasseBulkResultDto implements Serializable {
+
+    // Nombre d'identifiants distincts demandés (pour une opération par secteur, les classes qu'il contenait)
+    private int requested;
+
+    // Nombre de lignes effectivement supprimées ou modifiées
+    private int affected;
+}
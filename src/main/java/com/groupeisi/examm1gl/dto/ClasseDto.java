@@ -35,4 +35,15 @@ public class ClasseDto implements Serializable {
 
     // Ajout du nom du secteur pour l'affichage dans la liste
     private String sectorName;
+
+    // Version lue avec la classe, renvoyée lors de la modification pour le verrouillage optimiste.
+    // Une modification sans version écrase la classe sans contrôle de concurrence.
+    private Long version;
+
+    /**
+     * Construit une classe sans version (création, import, ou modification sans contrôle de concurrence).
+     */
+    public ClasseDto(Integer id, String className, String description, Integer idSector, String sectorName) {
+        this(id, className, description, idSector, sectorName, null);
+    }
 }
@@ -0,0 +1,23 @@
+package com.groupeisi.examm1gl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * Erreur rencontrée sur une ligne lors de l'import en masse des classes.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClasseImportErrorDto implements Serializable {
+
+    // Numéro de la ligne en erreur (à partir de 1)
+    private int row;
+
+    private String message;
+}
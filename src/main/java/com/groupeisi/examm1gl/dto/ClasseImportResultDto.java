@@ -0,0 +1,27 @@
+package com.groupeisi.examm1gl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compte rendu d'un import en masse de classes : les lignes en erreur sont
+ * listées sans interrompre l'import des autres lignes.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClasseImportResultDto implements Serializable {
+
+    private int total;
+
+    private int imported;
+
+    private List<ClasseImportErrorDto> errors = new ArrayList<>();
+}
@@ -0,0 +1,28 @@
+package com.groupeisi.examm1gl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Page de classes renvoyée par le listing paginé par curseur.
+ * Le curseur {@code nextCursor} est opaque pour le client : il suffit de le renvoyer
+ * tel quel pour obtenir la page suivante. Il vaut {@code null} sur la dernière page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassePageDto implements Serializable {
+
+    private List<ClasseDto> content;
+
+    // Nombre d'éléments demandés (après application du plafond)
+    private int size;
+
+    private String nextCursor;
+}
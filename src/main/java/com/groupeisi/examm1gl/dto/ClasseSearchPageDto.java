@@ -0,0 +1,31 @@
+package com.groupeisi.examm1gl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Page de résultats de la recherche de classes, classés par pertinence.
+ * La pagination se fait par numéro de page ; {@code hasNext} indique s'il existe
+ * une page suivante, sans requête de comptage.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClasseSearchPageDto implements Serializable {
+
+    private List<ClasseDto> content;
+
+    // Numéro de la page, à partir de 0
+    private int page;
+
+    // Nombre d'éléments demandés (après application du plafond)
+    private int size;
+
+    private boolean hasNext;
+}
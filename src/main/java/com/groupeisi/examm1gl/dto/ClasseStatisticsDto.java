@@ -0,0 +1,25 @@
+package com.groupeisi.examm1gl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Statistiques globales des classes : totaux, répartition par secteur
+ * et secteurs sans aucune classe.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClasseStatisticsDto implements Serializable {
+
+    private long totalClasses;
+    private long totalSectors;
+    private List<SectorStatisticsDto> classesPerSector;
+    private List<SectorStatisticsDto> sectorsWithoutClasses;
+}
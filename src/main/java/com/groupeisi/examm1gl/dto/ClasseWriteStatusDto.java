@@ -0,0 +1,29 @@
+package com.groupeisi.examm1gl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * Suivi d'une création de classe acceptée en écriture différée.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClasseWriteStatusDto implements Serializable {
+
+    // Identifiant de suivi renvoyé à l'acceptation de la requête
+    private String trackingId;
+
+    private WriteStatus status;
+
+    // Identifiant de la classe, une fois enregistrée
+    private Integer id;
+
+    // Motif du refus, en cas d'échec
+    private String message;
+}
@@ -0,0 +1,21 @@
+package com.groupeisi.examm1gl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Formats disponibles pour l'export en flux des classes.
+ */
+@Getter
+@AllArgsConstructor
+public enum ExportFormat {
+
+    // Une ligne par classe, précédée d'un en-tête
+    CSV("text/csv", "csv"),
+
+    // Un objet JSON par ligne (NDJSON)
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+}
@@ -15,4 +15,14 @@ public class SectorDto implements Serializable {
 
     private Integer id;
     private String name;
+
+    // Version lue avec le secteur, renvoyée lors de la modification pour le verrouillage optimiste.
+    private Long version;
+
+    /**
+     * Construit un secteur sans version (création, ou modification sans contrôle de concurrence).
+     */
+    public SectorDto(Integer id, String name) {
+        this(id, name, null);
+    }
 }
\ No newline at end of file
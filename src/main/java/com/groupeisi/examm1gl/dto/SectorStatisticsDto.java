@@ -0,0 +1,22 @@
+package com.groupeisi.examm1gl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * Nombre de classes d'un secteur.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SectorStatisticsDto implements Serializable {
+
+    private Integer sectorId;
+    private String sectorName;
+    private long classCount;
+}
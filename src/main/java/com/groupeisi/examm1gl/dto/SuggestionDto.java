@@ -0,0 +1,21 @@
+package com.groupeisi.examm1gl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * Suggestion d'autocomplétion : identifiant et nom d'une classe ou d'un secteur.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDto implements Serializable {
+
+    private Integer id;
+    private String name;
+}
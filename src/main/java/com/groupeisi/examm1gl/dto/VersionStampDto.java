@@ -0,0 +1,33 @@
+package com.groupeisi.examm1gl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Validateur d'une ressource ou d'une liste, calculé par une requête d'agrégat
+ * sans charger les lignes : nombre de lignes, somme des versions et date de dernière modification.
+ * Toute insertion, modification ou suppression change au moins l'une de ces valeurs.
+ */
+@Getter
+@AllArgsConstructor
+public class VersionStampDto implements Serializable {
+
+    private Long count;
+    private Long versionSum;
+    private Instant lastModified;
+
+    /**
+     * Combine deux validateurs (ex. les classes et les secteurs dont elles affichent le nom).
+     * @param other L'autre validateur.
+     * @return Le validateur combiné.
+     */
+    public VersionStampDto combine(VersionStampDto other) {
+        Instant latest = lastModified == null || (other.lastModified != null && other.lastModified.isAfter(lastModified))
+                ? other.lastModified
+                : lastModified;
+        return new VersionStampDto(count + other.count, versionSum + other.versionSum, latest);
+    }
+}
@@ -0,0 +1,16 @@
+package com.groupeisi.examm1gl.dto;
+
+/**
+ * État d'une création de classe acceptée en écriture différée.
+ */
+public enum WriteStatus {
+
+    // En file d'attente, pas encore enregistrée
+    PENDING,
+
+    // Enregistrée ; l'identifiant de la classe est connu
+    SAVED,
+
+    // Refusée par la base à l'enregistrement (secteur supprimé entre-temps, nom déjà utilisé...)
+    FAILED
+}
@@ -2,19 +2,41 @@ package com.groupeisi.examm1gl.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.io.Serializable;
+import java.time.Instant;
 
 @Entity
-@Table(name = "classes")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "entity-classe")
+// Schéma géré par les migrations Flyway (db/migration) ; les index et contraintes y sont repris pour mémoire.
+@Table(name = "classes", indexes = {
+        // Sert le tri et la pagination par curseur sur (class_name, id)
+        @Index(name = "idx_classes_class_name_id", columnList = "class_name, id")
+}, uniqueConstraints = {
+        // Nom unique dans un secteur ; l'index sert aussi les recherches par secteur
+        @UniqueConstraint(name = "uk_classes_sector_class_name", columnNames = {"sector_id", "class_name"})
+})
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class ClasseEntity implements Serializable {
 
+    /**
+     * Nom de la contrainte de clé étrangère vers le secteur, tel que créé par les migrations.
+     */
+    public static final String SECTOR_FOREIGN_KEY = "fk_classes_sector";
+
+    // Séquence avec optimiseur "pooled" : les identifiants sont réservés par blocs,
+    // ce qui permet à Hibernate de regrouper les INSERT en lots JDBC (impossible avec IDENTITY).
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "classes_seq")
+    @SequenceGenerator(name = "classes_seq", sequenceName = "classes_seq", allocationSize = 50)
     private Integer id;
 
     @Column(name = "class_name", nullable = false, length = 150)
@@ -24,6 +46,18 @@ public class ClasseEntity implements Serializable {
     private String description;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "sector_id", nullable = false)
+    @JoinColumn(name = "sector_id", nullable = false,
+            foreignKey = @ForeignKey(name = ClasseEntity.SECTOR_FOREIGN_KEY))
     private SectorEntity sector;
+
+    // Version incrémentée à chaque modification (verrouillage optimiste et validateurs HTTP ETag).
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Date de dernière modification, renseignée par Hibernate à l'insertion et à chaque mise à jour.
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
 }
\ No newline at end of file
@@ -2,12 +2,19 @@ package com.groupeisi.examm1gl.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.io.Serializable;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "entity-sector")
 @Table(name = "sectors")
 @Getter
 @Setter
@@ -15,13 +22,27 @@ import java.util.List;
 @NoArgsConstructor
 public class SectorEntity implements Serializable {
 
+    // Séquence avec optimiseur "pooled" : autorise le regroupement des INSERT en lots JDBC.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sectors_seq")
+    @SequenceGenerator(name = "sectors_seq", sequenceName = "sectors_seq", allocationSize = 50)
     private Integer id;
 
     @Column(name = "name", nullable = false, length = 100, unique = true)
     private String name;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "collection-sector-classes")
     @OneToMany(mappedBy = "sector", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private List<ClasseEntity> classes = new ArrayList<>();
+
+    // Version incrémentée à chaque modification (verrouillage optimiste et validateurs HTTP ETag).
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Date de dernière modification, renseignée par Hibernate à l'insertion et à chaque mise à jour.
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.groupeisi.examm1gl.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -27,4 +29,43 @@ public class APIExceptionHandler {
                 LocalDateTime.now());
         return new ResponseEntity<>(exception, HttpStatus.NOT_FOUND);
     }
+
+    /**
+     * Conflit de verrouillage optimiste : la version envoyée est périmée ({@link ConcurrentUpdateException}),
+     * ou une écriture concurrente a été détectée à l'enregistrement ({@link OptimisticLockingFailureException}).
+     */
+    @ExceptionHandler(value = {ConcurrentUpdateException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<APIException> handleConcurrentUpdateException(RuntimeException e) {
+        APIException exception = new APIException(
+                e.getMessage(),
+                HttpStatus.CONFLICT,
+                LocalDateTime.now());
+        return new ResponseEntity<>(exception, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Clé d'idempotence déjà utilisée pour une autre requête, ou dont la première requête est toujours en cours.
+     */
+    @ExceptionHandler(value = {DuplicateException.class})
+    public ResponseEntity<APIException> handleDuplicateException(DuplicateException e) {
+        APIException exception = new APIException(
+                e.getMessage(),
+                HttpStatus.CONFLICT,
+                LocalDateTime.now());
+        return new ResponseEntity<>(exception, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * File d'écriture différée pleine : le client est invité à réessayer un peu plus tard.
+     */
+    @ExceptionHandler(value = {QueueFullException.class})
+    public ResponseEntity<APIException> handleQueueFullException(QueueFullException e) {
+        APIException exception = new APIException(
+                e.getMessage(),
+                HttpStatus.TOO_MANY_REQUESTS,
+                LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(exception);
+    }
 }
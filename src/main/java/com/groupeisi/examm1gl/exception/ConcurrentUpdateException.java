@@ -0,0 +1,19 @@
+package com.groupeisi.examm1gl.exception;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Levée lorsqu'une modification porte sur une version périmée d'une donnée
+ * (verrouillage optimiste) : la donnée a été modifiée entre sa lecture et l'enregistrement.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@Getter
+public class ConcurrentUpdateException extends RuntimeException {
+
+    String message;
+}
@@ -0,0 +1,18 @@
+package com.groupeisi.examm1gl.exception;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Levée lorsqu'une file d'écriture différée est pleine : le client doit réessayer plus tard.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@Getter
+public class QueueFullException extends RuntimeException {
+
+    String message;
+}
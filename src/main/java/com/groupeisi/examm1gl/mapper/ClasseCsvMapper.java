@@ -0,0 +1,110 @@
+package com.groupeisi.examm1gl.mapper;
+
+import com.groupeisi.examm1gl.dto.ClasseDto;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mapper pour la conversion entre une ligne CSV et un ClasseDto.
+ * Format attendu : {@code className,description,idSector}, les champs pouvant être
+ * entourés de guillemets doubles (un guillemet dans un champ est alors doublé).
+ */
+@Component
+public class ClasseCsvMapper {
+
+    /**
+     * En-tête des fichiers CSV de classes.
+     */
+    public static final String HEADER = "className,description,idSector";
+    /**
+     * En-tête des fichiers CSV produits par l'export des classes.
+     */
+    public static final String EXPORT_HEADER = "id,className,description,idSector,sectorName";
+
+    /**
+     * Indique si la ligne est l'en-tête du fichier.
+     */
+    public boolean isHeader(String line) {
+        return line.regionMatches(true, 0, "className", 0, "className".length());
+    }
+
+    /**
+     * Convertit une ligne CSV en ClasseDto.
+     * @param line La ligne à convertir.
+     * @return Le {@link ClasseDto} correspondant, sans identifiant.
+     * @throws IllegalArgumentException si la ligne ne respecte pas le format attendu.
+     */
+    public ClasseDto fromCsvLine(String line) {
+        List<String> fields = split(line);
+        if (fields.size() != 3) {
+            throw new IllegalArgumentException("3 champs attendus (" + HEADER + "), " + fields.size() + " trouvés");
+        }
+        Integer idSector;
+        try {
+            idSector = Integer.valueOf(fields.get(2).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Identifiant de secteur invalide : " + fields.get(2));
+        }
+        return new ClasseDto(null, fields.get(0).trim(), fields.get(1).trim(), idSector, null);
+    }
+
+    /**
+     * Convertit un ClasseDto en ligne CSV (sans fin de ligne).
+     * Format : {@code id,className,description,idSector,sectorName}.
+     * @param classe Le DTO à convertir.
+     * @return La ligne CSV correspondante.
+     */
+    public String toCsvLine(ClasseDto classe) {
+        return classe.getId() + "," + quote(classe.getClassName()) + "," + quote(classe.getDescription())
+                + "," + classe.getIdSector() + "," + quote(classe.getSectorName());
+    }
+
+    /**
+     * Entoure un champ de guillemets s'il contient un séparateur, un guillemet ou un saut de ligne.
+     */
+    private static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Découpe une ligne CSV en champs en tenant compte des guillemets.
+     */
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Guillemet non fermé");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -29,8 +29,11 @@ public interface ClasseMapper {
      * On mappe explicitement l'id du secteur du DTO vers l'id du secteur de l'entité.
      * La logique de récupération de l'objet SectorEntity complet
      * sera gérée par la couche Service.
+     * La version et la date de modification ne sont jamais reprises du DTO : elles sont attribuées par Hibernate.
      */
     @Mapping(source = "idSector", target = "sector.id")
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     ClasseEntity toClasseEntity(ClasseDto classeDto);
 
     /**
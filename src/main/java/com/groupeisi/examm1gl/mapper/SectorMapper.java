@@ -3,6 +3,7 @@ package com.groupeisi.examm1gl.mapper;
 import com.groupeisi.examm1gl.dto.SectorDto;
 import com.groupeisi.examm1gl.entity.SectorEntity;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import java.util.List;
 
@@ -10,6 +11,9 @@ import java.util.List;
 public interface SectorMapper {
 
     SectorDto toSectorDto(SectorEntity sectorEntity);
+    // La version et la date de modification ne sont jamais reprises du DTO : elles sont attribuées par Hibernate.
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     SectorEntity toSectorEntity(SectorDto sectorDto);
     List<SectorDto> listSectorEntityToListSectorDto(List<SectorEntity> sectorEntities);
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.groupeisi.examm1gl.metrics;
+
+import java.time.Duration;
+
+/**
+ * Compteurs SQL de la requête HTTP en cours, attachés au thread qui la traite.
+ * Le suivi est ouvert par {@link SqlStatementMetricsFilter} et alimenté par
+ * {@link SqlStatementInspector} (nombre de requêtes) et {@link SqlTimingSessionEventListener}
+ * (temps d'exécution) ; en dehors d'un suivi, rien n'est compté.
+ * Les suivis peuvent s'imbriquer : à la fin d'un suivi, ses compteurs sont reportés sur le suivi englobant.
+ */
+public final class RequestSqlStatistics {
+
+    private static final ThreadLocal<RequestSqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private final RequestSqlStatistics parent;
+    private final long slowQueryThresholdNanos;
+
+    private int statementCount;
+    private long sqlTimeNanos;
+    private String lastSql;
+    private long executionStart;
+
+    private RequestSqlStatistics(RequestSqlStatistics parent, Duration slowQueryThreshold) {
+        this.parent = parent;
+        this.slowQueryThresholdNanos = slowQueryThreshold != null ? slowQueryThreshold.toNanos() : Long.MAX_VALUE;
+    }
+
+    /**
+     * Démarre un suivi sans journal des requêtes lentes pour le thread courant.
+     * @return Les compteurs du suivi.
+     */
+    public static RequestSqlStatistics begin() {
+        return begin(null);
+    }
+
+    /**
+     * Démarre un suivi pour le thread courant.
+     * @param slowQueryThreshold Durée à partir de laquelle une requête SQL est considérée lente, ou {@code null}.
+     * @return Les compteurs du suivi.
+     */
+    public static RequestSqlStatistics begin(Duration slowQueryThreshold) {
+        RequestSqlStatistics statistics = new RequestSqlStatistics(CURRENT.get(), slowQueryThreshold);
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Retourne les compteurs du thread courant, ou {@code null} si aucun suivi n'est ouvert.
+     */
+    public static RequestSqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Termine le suivi courant et rétablit le suivi englobant s'il existe.
+     */
+    public static void end() {
+        RequestSqlStatistics statistics = CURRENT.get();
+        if (statistics == null) {
+            return;
+        }
+        if (statistics.parent != null) {
+            statistics.parent.statementCount += statistics.statementCount;
+            statistics.parent.sqlTimeNanos += statistics.sqlTimeNanos;
+            CURRENT.set(statistics.parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    void statementPrepared(String sql) {
+        statementCount++;
+        lastSql = sql;
+    }
+
+    void executionStarted() {
+        executionStart = System.nanoTime();
+    }
+
+    /**
+     * Cumule la durée de l'exécution qui se termine.
+     * @return La durée de cette exécution en nanosecondes.
+     */
+    long executionEnded() {
+        if (executionStart == 0) {
+            return 0;
+        }
+        long elapsed = System.nanoTime() - executionStart;
+        executionStart = 0;
+        sqlTimeNanos += elapsed;
+        return elapsed;
+    }
+
+    boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= slowQueryThresholdNanos;
+    }
+
+    /**
+     * Nombre de requêtes SQL préparées depuis le début du suivi.
+     */
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    /**
+     * Temps cumulé passé dans l'exécution des requêtes SQL.
+     */
+    public Duration getSqlTime() {
+        return Duration.ofNanos(sqlTimeNanos);
+    }
+
+    /**
+     * Dernière requête SQL préparée, utilisée par le journal des requêtes lentes.
+     */
+    public String getLastSql() {
+        return lastSql;
+    }
+}
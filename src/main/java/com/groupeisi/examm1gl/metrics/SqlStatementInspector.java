@@ -0,0 +1,43 @@
+package com.groupeisi.examm1gl.metrics;
+
+import com.groupeisi.examm1gl.config.SqlBudgetProperties;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Inspecteur Hibernate qui compte chaque requête SQL préparée dans les
+ * statistiques du suivi en cours et en journalise un échantillon
+ * ({@code app.sql.budget.sample-rate}). Le SQL n'est pas modifié.
+ */
+@Component
+public class SqlStatementInspector implements StatementInspector {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementInspector.class);
+
+    private final SqlBudgetProperties budgetProperties;
+
+    /**
+     * Constructeur pour l'injection du budget SQL.
+     * @param budgetProperties Le budget SQL, qui porte le taux d'échantillonnage.
+     */
+    public SqlStatementInspector(SqlBudgetProperties budgetProperties) {
+        this.budgetProperties = budgetProperties;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        RequestSqlStatistics statistics = RequestSqlStatistics.current();
+        if (statistics != null) {
+            statistics.statementPrepared(sql);
+        }
+        double sampleRate = budgetProperties.getSampleRate();
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info("event=sql_sample sql=\"{}\"", sql);
+        }
+        return sql;
+    }
+}
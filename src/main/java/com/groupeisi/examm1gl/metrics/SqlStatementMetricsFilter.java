@@ -0,0 +1,97 @@
+package com.groupeisi.examm1gl.metrics;
+
+import com.groupeisi.examm1gl.config.SqlBudgetProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Filtre qui mesure le nombre de requêtes SQL et le temps SQL de chaque requête HTTP.
+ * Les mesures sont enregistrées dans {@code http.server.requests.sql.statements} et
+ * {@code http.server.requests.sql.time}, par méthode et par route, et un avertissement
+ * est journalisé lorsque la requête dépasse son budget ({@link SqlBudgetProperties}).
+ */
+@Component
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementMetricsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final SqlBudgetProperties budgetProperties;
+
+    /**
+     * Constructeur pour l'injection du registre de métriques et du budget SQL.
+     * @param meterRegistry Le registre Micrometer.
+     * @param budgetProperties Le budget SQL par requête.
+     */
+    public SqlStatementMetricsFilter(MeterRegistry meterRegistry, SqlBudgetProperties budgetProperties) {
+        this.meterRegistry = meterRegistry;
+        this.budgetProperties = budgetProperties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        RequestSqlStatistics statistics = RequestSqlStatistics.begin(
+                budgetProperties.isEnabled() ? budgetProperties.getSlowQueryThreshold() : null);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestSqlStatistics.end();
+            String uri = uri(request);
+            record(request.getMethod(), uri, statistics);
+            if (budgetProperties.isEnabled()) {
+                checkBudget(request.getMethod(), uri, statistics, Duration.ofNanos(System.nanoTime() - start));
+            }
+        }
+    }
+
+    private void record(String method, String uri, RequestSqlStatistics statistics) {
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("Nombre de requêtes SQL exécutées par requête HTTP")
+                .baseUnit("statements")
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(statistics.getStatementCount());
+        Timer.builder("http.server.requests.sql.time")
+                .description("Temps SQL cumulé par requête HTTP")
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(statistics.getSqlTime());
+    }
+
+    private void checkBudget(String method, String uri, RequestSqlStatistics statistics, Duration duration) {
+        int maxStatements = budgetProperties.maxStatementsFor(uri);
+        Duration maxSqlTime = budgetProperties.maxSqlTimeFor(uri);
+        if (statistics.getStatementCount() > maxStatements || statistics.getSqlTime().compareTo(maxSqlTime) > 0) {
+            log.warn("event=sql_budget_exceeded method={} uri={} statements={} max_statements={} sql_time_ms={} max_sql_time_ms={} duration_ms={}",
+                    method, uri, statistics.getStatementCount(), maxStatements,
+                    statistics.getSqlTime().toMillis(), maxSqlTime.toMillis(), duration.toMillis());
+        }
+    }
+
+    /**
+     * Route de la requête (motif du mapping, pour limiter le nombre de séries).
+     */
+    static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
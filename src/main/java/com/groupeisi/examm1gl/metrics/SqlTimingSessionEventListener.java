@@ -0,0 +1,53 @@
+package com.groupeisi.examm1gl.metrics;
+
+import org.hibernate.BaseSessionEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Écouteur de session Hibernate qui mesure le temps d'exécution des requêtes SQL
+ * du suivi en cours et journalise celles qui dépassent le seuil de lenteur.
+ * Hibernate l'instancie pour chaque session ({@code hibernate.session.events.auto}).
+ */
+public class SqlTimingSessionEventListener extends BaseSessionEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlTimingSessionEventListener.class);
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        started();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        ended();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        started();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        ended();
+    }
+
+    private static void started() {
+        RequestSqlStatistics statistics = RequestSqlStatistics.current();
+        if (statistics != null) {
+            statistics.executionStarted();
+        }
+    }
+
+    private static void ended() {
+        RequestSqlStatistics statistics = RequestSqlStatistics.current();
+        if (statistics == null) {
+            return;
+        }
+        long elapsed = statistics.executionEnded();
+        if (statistics.isSlow(elapsed)) {
+            log.warn("event=slow_query elapsed_ms={} sql=\"{}\"", elapsed / 1_000_000, statistics.getLastSql());
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.groupeisi.examm1gl.service;
+
+import com.groupeisi.examm1gl.dao.ClasseDao;
+import com.groupeisi.examm1gl.dao.ISectorDao;
+import com.groupeisi.examm1gl.dto.AutocompleteDto;
+import com.groupeisi.examm1gl.dto.ClasseDto;
+import com.groupeisi.examm1gl.dto.SectorDto;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implémentation du service d'autocomplétion.
+ * Deux {@link PrefixIndex} (noms de classes et noms de secteurs) sont chargés au démarrage
+ * puis mis à jour par les services des classes et des secteurs. Les mises à jour sont
+ * différées au commit : une transaction annulée ne laisse aucune trace dans l'index.
+ * Les mises à jour reçues pendant un rechargement sont aussi rejouées sur les nouveaux index,
+ * qui peuvent avoir été lus avant elles.
+ */
+@Service
+@Timed(value = "app.service", description = "Durée des opérations des services", percentiles = {0.5, 0.95, 0.99})
+public class AutocompleteService implements IUAutocompleteService {
+
+    private static final Logger log = LoggerFactory.getLogger(AutocompleteService.class);
+
+    /**
+     * Nombre de suggestions par type lorsque le client n'en précise pas.
+     */
+    public static final int DEFAULT_LIMIT = 10;
+    /**
+     * Nombre maximal de suggestions par type, quelle que soit la demande du client.
+     */
+    public static final int MAX_LIMIT = 50;
+    /**
+     * Nombre de classes lues par requête lors du chargement de l'index.
+     */
+    private static final int LOAD_BATCH_SIZE = 5000;
+
+    /**
+     * DAO basé sur l'API Criteria, pour la lecture des classes par lots.
+     */
+    private ClasseDao classeCriteriaDao;
+    /**
+     * DAO pour l'accès aux données des secteurs.
+     */
+    private ISectorDao sectorDao;
+    /**
+     * Modèle de transaction utilisé pour lire les classes lot par lot au chargement.
+     */
+    private TransactionTemplate transactionTemplate;
+
+    // Remplacés d'un bloc à chaque rechargement : une recherche ne voit jamais un index à moitié chargé.
+    private volatile PrefixIndex classes = new PrefixIndex();
+    private volatile PrefixIndex sectors = new PrefixIndex();
+
+    // Sérialise les rechargements.
+    private final Object reloadLock = new Object();
+    // Protège l'application des mises à jour et leur journal pendant un rechargement.
+    private final Object updateLock = new Object();
+    // Mises à jour appliquées depuis le début du rechargement en cours ; null hors rechargement.
+    private List<Runnable> updatesDuringReload;
+
+    /**
+     * Constructeur pour l'injection des dépendances.
+     * @param classeCriteriaDao Le DAO Criteria des classes.
+     * @param sectorDao Le DAO des secteurs.
+     * @param transactionTemplate Le modèle de transaction.
+     */
+    public AutocompleteService(ClasseDao classeCriteriaDao, ISectorDao sectorDao, TransactionTemplate transactionTemplate) {
+        this.classeCriteriaDao = classeCriteriaDao;
+        this.sectorDao = sectorDao;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Recherche les classes et les secteurs dont le nom commence par le préfixe, dans l'index en mémoire.
+     * @param prefix Le préfixe saisi ; vide ou {@code null}, aucune suggestion n'est renvoyée.
+     * @param limit  Nombre de suggestions par type, plafonné à {@link #MAX_LIMIT}.
+     * @return Les suggestions de classes et de secteurs.
+     */
+    @Override
+    public AutocompleteDto suggest(String prefix, Integer limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return new AutocompleteDto(List.of(), List.of());
+        }
+        int max = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        return new AutocompleteDto(classes.find(prefix, max), sectors.find(prefix, max));
+    }
+
+    /**
+     * Charge l'index une fois l'application démarrée.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        reload();
+        log.info("Index d'autocomplétion chargé : {} classes, {} secteurs en {} ms",
+                classes.size(), sectors.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Reconstruit les deux index à partir de la base puis les substitue aux index courants.
+     * Les classes sont lues par pages successives, chacune dans sa propre transaction.
+     * Les mises à jour validées pendant la lecture restent appliquées aux index courants et sont
+     * rejouées, dans leur ordre, sur les nouveaux index au moment de la substitution : aucune
+     * n'est perdue, même si elle porte sur une page déjà lue.
+     */
+    @Override
+    public void reload() {
+        synchronized (reloadLock) {
+            synchronized (updateLock) {
+                updatesDuringReload = new ArrayList<>();
+            }
+            try {
+                loadAndSwap();
+            } finally {
+                synchronized (updateLock) {
+                    updatesDuringReload = null;
+                }
+            }
+        }
+    }
+
+    private void loadAndSwap() {
+        PrefixIndex loadedSectors = new PrefixIndex();
+        for (SectorDto sector : sectorDao.findAllAsDto()) {
+            loadedSectors.put(sector.getId(), sector.getName(), null);
+        }
+
+        PrefixIndex loadedClasses = new PrefixIndex();
+        List<ClasseDto> batch = List.of();
+        do {
+            ClasseDto last = batch.isEmpty() ? null : batch.get(batch.size() - 1);
+            batch = transactionTemplate.execute(status -> classeCriteriaDao.findDtoPageOrderByClassName(
+                    last != null ? last.getClassName() : null, last != null ? last.getId() : null, LOAD_BATCH_SIZE));
+            for (ClasseDto classe : batch) {
+                loadedClasses.put(classe.getId(), classe.getClassName(), classe.getIdSector());
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+
+        synchronized (updateLock) {
+            sectors = loadedSectors;
+            classes = loadedClasses;
+            // Les mises à jour lisent les champs à l'exécution : elles portent désormais sur les nouveaux index.
+            updatesDuringReload.forEach(Runnable::run);
+        }
+    }
+
+    @Override
+    public void classeSaved(Integer id, String className, Integer sectorId) {
+        afterCommit(() -> classes.put(id, className, sectorId));
+    }
+
+    @Override
+    public void classeDeleted(Integer id) {
+        afterCommit(() -> classes.remove(id));
+    }
+
+    @Override
+    public void sectorSaved(Integer id, String name) {
+        afterCommit(() -> sectors.put(id, name, null));
+    }
+
+    @Override
+    public void sectorDeleted(Integer id) {
+        afterCommit(() -> {
+            sectors.remove(id);
+            classes.removeGroup(id);
+        });
+    }
+
+    @Override
+    public void classesDeleted(Collection<Integer> ids) {
+        afterCommit(() -> ids.forEach(classes::remove));
+    }
+
+    @Override
+    public void sectorClassesDeleted(Integer sectorId) {
+        afterCommit(() -> classes.removeGroup(sectorId));
+    }
+
+    @Override
+    public void classesMoved(Collection<Integer> ids, Integer sectorId) {
+        afterCommit(() -> ids.forEach(id -> classes.regroup(id, sectorId)));
+    }
+
+    /**
+     * Applique la mise à jour au commit de la transaction en cours, ou immédiatement hors transaction.
+     */
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(update);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(update);
+            }
+        });
+    }
+
+    /**
+     * Applique la mise à jour aux index courants et la journalise si un rechargement est en cours.
+     */
+    private void apply(Runnable update) {
+        synchronized (updateLock) {
+            update.run();
+            if (updatesDuringReload != null) {
+                updatesDuringReload.add(update);
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.groupeisi.examm1gl.service;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Collection parcourue par lots chargés à la demande : un lot n'est lu qu'une fois le
+ * précédent consommé. Permet à une vue de commencer son rendu (et d'envoyer ses premiers
+ * octets) sans attendre le chargement de toutes les lignes, sans garder de connexion ouverte
+ * entre deux lots.
+ *
+ * @param <T> Type des éléments.
+ */
+public class BatchIterable<T> implements Iterable<T> {
+
+    private final int batchSize;
+    private final Function<T, List<T>> nextBatch;
+    private List<T> firstBatch;
+
+    /**
+     * @param batchSize Taille des lots ; un lot plus petit marque la fin du parcours.
+     * @param nextBatch Charge le lot qui suit l'élément donné ({@code null} pour le premier lot).
+     */
+    public BatchIterable(int batchSize, Function<T, List<T>> nextBatch) {
+        this.batchSize = batchSize;
+        this.nextBatch = nextBatch;
+    }
+
+    /**
+     * Indique si la collection est vide ; seul le premier lot est chargé (et réutilisé par le parcours).
+     */
+    public boolean isEmpty() {
+        return firstBatch().isEmpty();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+
+            private List<T> batch = firstBatch();
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                if (index < batch.size()) {
+                    return true;
+                }
+                if (batch.size() < batchSize) {
+                    return false;
+                }
+                batch = nextBatch.apply(batch.get(batch.size() - 1));
+                index = 0;
+                return !batch.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return batch.get(index++);
+            }
+        };
+    }
+
+    private List<T> firstBatch() {
+        if (firstBatch == null) {
+            firstBatch = nextBatch.apply(null);
+        }
+        return firstBatch;
+    }
+}
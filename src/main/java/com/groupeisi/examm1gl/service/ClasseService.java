@@ -1,20 +1,62 @@
 package com.groupeisi.examm1gl.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groupeisi.examm1gl.config.CacheConfig;
+import com.groupeisi.examm1gl.config.ImportProperties;
+import com.groupeisi.examm1gl.dao.ClasseDao;
 import com.groupeisi.examm1gl.dao.IClasseDao;
 import com.groupeisi.examm1gl.dao.ISectorDao;
+import com.groupeisi.examm1gl.dto.ClasseBulkResultDto;
 import com.groupeisi.examm1gl.dto.ClasseDto;
+import com.groupeisi.examm1gl.dto.ClasseImportErrorDto;
+import com.groupeisi.examm1gl.dto.ClasseImportResultDto;
+import com.groupeisi.examm1gl.dto.ClassePageDto;
+import com.groupeisi.examm1gl.dto.ClasseSearchPageDto;
+import com.groupeisi.examm1gl.dto.ClasseStatisticsDto;
+import com.groupeisi.examm1gl.dto.ExportFormat;
+import com.groupeisi.examm1gl.dto.SectorStatisticsDto;
+import com.groupeisi.examm1gl.dto.VersionStampDto;
 import com.groupeisi.examm1gl.entity.ClasseEntity;
 import com.groupeisi.examm1gl.entity.SectorEntity;
+import com.groupeisi.examm1gl.exception.ConcurrentUpdateException;
 import com.groupeisi.examm1gl.exception.EntityNotFoundException;
+import com.groupeisi.examm1gl.mapper.ClasseCsvMapper;
 import com.groupeisi.examm1gl.mapper.ClasseMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.Setter;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.MessageSource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Implémentation du service pour la gestion des classes.
@@ -22,14 +64,48 @@ import java.util.Locale;
  * en coordonnant les interactions entre les contrôleurs, les mappers et les DAO.
  */
 @Service
+@Timed(value = "app.service", description = "Durée des opérations des services", percentiles = {0.5, 0.95, 0.99})
 @AllArgsConstructor
 @Setter
 public class ClasseService implements IUClasseService {
 
+    /**
+     * Nombre de lignes exportées entre deux envois du tampon au client.
+     */
+    private static final int EXPORT_FLUSH_INTERVAL = 1000;
+
+    /**
+     * Taille de page appliquée lorsque le client n'en précise pas.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    /**
+     * Taille de page maximale acceptée, quelle que soit la demande du client.
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+    /**
+     * Longueur minimale d'un fragment de recherche : en deçà, aucun trigramme complet
+     * ne peut être extrait et l'index de recherche ne peut pas être utilisé.
+     */
+    public static final int MIN_SEARCH_LENGTH = 3;
+    /**
+     * Nombre d'identifiants traités par requête dans les opérations en masse :
+     * borne la taille de la clause IN, bien en deçà des limites de paramètres des pilotes JDBC.
+     */
+    public static final int BULK_CHUNK_SIZE = 1000;
+    /**
+     * SQLSTATE d'une ligne qui référence un parent absent : 23503 (norme SQL, PostgreSQL)
+     * et 23506 (H2, qui réserve 23503 à la suppression d'un parent encore référencé).
+     */
+    private static final Set<String> FOREIGN_KEY_VIOLATION_STATES = Set.of("23503", "23506");
+
     /**
      * DAO pour l'accès aux données des classes.
      */
     private IClasseDao classeDao;
+    /**
+     * DAO basé sur l'API Criteria pour les requêtes dynamiques sur les classes.
+     */
+    private ClasseDao classeCriteriaDao;
     /**
      * DAO pour l'accès aux données des secteurs.
      */
@@ -42,16 +118,142 @@ public class ClasseService implements IUClasseService {
      * Source de messages pour la gestion des messages d'erreur internationalisés.
      */
     private MessageSource messageSource;
+    /**
+     * Mapper pour la lecture des classes au format CSV.
+     */
+    private ClasseCsvMapper classeCsvMapper;
+    /**
+     * Validateur des contraintes déclarées sur {@link ClasseDto}.
+     */
+    private Validator validator;
+    /**
+     * Modèle de transaction utilisé pour découper l'import en lots transactionnels.
+     */
+    private TransactionTemplate transactionTemplate;
+    /**
+     * Paramètres de l'import en masse.
+     */
+    private ImportProperties importProperties;
+    /**
+     * Sérialiseur JSON utilisé pour l'export NDJSON.
+     */
+    private ObjectMapper objectMapper;
+    /**
+     * Service d'autocomplétion, dont l'index des noms est tenu à jour à chaque écriture.
+     */
+    private IUAutocompleteService autocompleteService;
+    /**
+     * Politique de reprise des modifications sans version après un conflit de verrouillage optimiste.
+     */
+    private OptimisticLockRetry optimisticLockRetry;
 
     /**
      * Récupère la liste de toutes les classes.
+     * Les colonnes du DTO, nom du secteur compris, sont projetées directement par une
+     * seule requête avec jointure : aucune entité n'est hydratée ni passée au mapper.
      * @return Une liste de {@link ClasseDto}.
      */
     @Override
     @Transactional(readOnly = true)
     public List<ClasseDto> getAll() {
-        List<ClasseEntity> classes = classeDao.findAll();
-        return classeMapper.listClasseEntityToListClasseDto(classes);
+        return classeDao.findAllAsDto();
+    }
+
+    /**
+     * Récupère une page de classes triées par nom, en pagination par curseur.
+     * Une ligne de plus que la taille demandée est lue pour savoir s'il existe
+     * une page suivante sans requête de comptage.
+     *
+     * @param cursor     Curseur renvoyé par la page précédente, ou {@code null} pour la première page.
+     * @param size       Taille de page souhaitée, plafonnée à {@link #MAX_PAGE_SIZE}.
+     * @param sectorId   Filtre optionnel sur le secteur.
+     * @param namePrefix Filtre optionnel sur le début du nom de la classe.
+     * @return La page de {@link ClasseDto} et le curseur de la page suivante.
+     * @throws IllegalArgumentException si le curseur est invalide.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ClassePageDto getPage(String cursor, Integer size, Integer sectorId, String namePrefix) {
+        int pageSize = size == null || size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+
+        String afterClassName = null;
+        Integer afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String decoded = decodeCursor(cursor);
+            int separator = decoded.indexOf(':');
+            try {
+                afterId = Integer.valueOf(decoded.substring(0, separator));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Curseur invalide : " + cursor, e);
+            }
+            afterClassName = decoded.substring(separator + 1);
+        }
+
+        List<ClasseEntity> classes = classeCriteriaDao.findPageOrderByClassName(
+                afterClassName, afterId, sectorId, namePrefix, pageSize + 1);
+
+        String nextCursor = null;
+        if (classes.size() > pageSize) {
+            classes = classes.subList(0, pageSize);
+            ClasseEntity last = classes.get(pageSize - 1);
+            nextCursor = encodeCursor(last.getId(), last.getClassName());
+        }
+
+        return new ClassePageDto(classeMapper.listClasseEntityToListClasseDto(classes), pageSize, nextCursor);
+    }
+
+    /**
+     * Recherche les classes dont le nom ou la description contient un fragment.
+     * Une ligne de plus que la taille demandée est lue pour savoir s'il existe
+     * une page suivante sans requête de comptage.
+     *
+     * @param query Le fragment recherché, d'au moins {@link #MIN_SEARCH_LENGTH} caractères.
+     * @param page  Numéro de la page, à partir de 0.
+     * @param size  Taille de page souhaitée, plafonnée à {@link #MAX_PAGE_SIZE}.
+     * @return La page de {@link ClasseDto} trouvées, classées par pertinence.
+     * @throws IllegalArgumentException si le fragment est trop court ou le numéro de page négatif ou trop grand.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ClasseSearchPageDto search(String query, Integer page, Integer size) {
+        String fragment = query == null ? "" : query.strip().toLowerCase(Locale.ROOT);
+        if (fragment.length() < MIN_SEARCH_LENGTH) {
+            throw new IllegalArgumentException("Le fragment recherché doit contenir au moins "
+                    + MIN_SEARCH_LENGTH + " caractères");
+        }
+        int pageNumber = page == null ? 0 : page;
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException("Numéro de page invalide : " + page);
+        }
+        int pageSize = size == null || size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        int offset;
+        try {
+            offset = Math.multiplyExact(pageNumber, pageSize);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Numéro de page invalide : " + page, e);
+        }
+
+        List<ClasseDto> classes = classeCriteriaDao.search(fragment, offset, pageSize + 1);
+
+        boolean hasNext = classes.size() > pageSize;
+        if (hasNext) {
+            classes = classes.subList(0, pageSize);
+        }
+        return new ClasseSearchPageDto(classes, pageNumber, pageSize, hasNext);
+    }
+
+    /**
+     * Parcourt toutes les classes triées par nom, lues par lots au fil de l'itération.
+     * Chaque lot est une page par curseur projetée en DTO et lue dans son propre EntityManager :
+     * aucune connexion n'est conservée pendant le traitement des éléments, que l'EntityManager
+     * de la requête HTTP reste ouvert pendant le rendu de la vue (open-in-view) ou non.
+     * @param batchSize Nombre de classes par lot.
+     * @return Un {@link BatchIterable} de {@link ClasseDto}.
+     */
+    @Override
+    public BatchIterable<ClasseDto> iterateAll(int batchSize) {
+        return new BatchIterable<>(batchSize, last -> classeCriteriaDao.findDtoPageOrderByClassNameInOwnSession(
+                last != null ? last.getClassName() : null, last != null ? last.getId() : null, batchSize));
     }
 
     /**
@@ -63,17 +265,45 @@ public class ClasseService implements IUClasseService {
     @Override
     @Transactional(readOnly = true)
     public ClasseDto get(Integer id) {
-        return classeDao.findById(id)
-                .map(classeMapper::toClasseDto)
+        return classeDao.findDtoById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         messageSource.getMessage("classe.notfound", new Object[]{id}, Locale.getDefault())
                 ));
     }
 
+    /**
+     * Calcule le validateur de la liste des classes par deux requêtes d'agrégat, sans charger les lignes.
+     * Les secteurs sont pris en compte car la liste affiche leur nom.
+     * @return Le {@link VersionStampDto} de la liste.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public VersionStampDto getListVersion() {
+        return classeDao.findVersionStamp().combine(sectorDao.findVersionStamp());
+    }
+
+    /**
+     * Calcule le validateur d'une classe (et de son secteur) sans la charger.
+     * @param id L'identifiant de la classe.
+     * @return Le {@link VersionStampDto} de la classe.
+     * @throws EntityNotFoundException si aucune classe n'est trouvée pour l'identifiant donné.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public VersionStampDto getVersion(Integer id) {
+        VersionStampDto stamp = classeDao.findVersionStampById(id);
+        if (stamp.getCount() == 0) {
+            throw new EntityNotFoundException(
+                    messageSource.getMessage("classe.notfound", new Object[]{id}, Locale.getDefault()));
+        }
+        return stamp;
+    }
+
     /**
      * Enregistre une nouvelle classe.
-     * La méthode vérifie d'abord l'existence du secteur associé avant de
-     * sauvegarder la classe.
+     * Le secteur est rattaché par une référence (proxy) sans être chargé : son existence
+     * est garantie par la contrainte de clé étrangère, dont la violation est traduite
+     * en {@link EntityNotFoundException}.
      *
      * @param classeDto L'objet {@link ClasseDto} à enregistrer.
      * @return L'objet {@link ClasseDto} après l'enregistrement.
@@ -81,59 +311,449 @@ public class ClasseService implements IUClasseService {
      */
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CLASSE_STATISTICS, allEntries = true)
     public ClasseDto save(ClasseDto classeDto) {
-        // Recherche du secteur associé pour s'assurer de son existence
-        SectorEntity sector = sectorDao.findById(classeDto.getIdSector())
-                .orElseThrow(() -> new EntityNotFoundException(
-                        messageSource.getMessage("sector.notfound", new Object[]{classeDto.getIdSector()}, Locale.getDefault())
-                ));
-
         ClasseEntity classe = classeMapper.toClasseEntity(classeDto);
-        classe.setSector(sector);
+        classe.setSector(sectorDao.getReferenceById(classeDto.getIdSector()));
+
+        try {
+            classe = classeDao.saveAndFlush(classe);
+        } catch (DataIntegrityViolationException e) {
+            throw translateSectorViolation(e, classeDto.getIdSector());
+        }
+        autocompleteService.classeSaved(classe.getId(), classe.getClassName(), classeDto.getIdSector());
+        return classeMapper.toClasseDto(classe);
+    }
 
-        return classeMapper.toClasseDto(classeDao.save(classe));
+    /**
+     * Enregistre en une seule transaction des classes déjà validées, insérées par lots JDBC.
+     * Le lot est indivisible : si une classe est refusée par la base (secteur supprimé entre-temps,
+     * nom déjà utilisé dans le secteur), aucune n'est enregistrée.
+     *
+     * @param classes Les classes à enregistrer.
+     * @return Les identifiants attribués, dans l'ordre des classes.
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CLASSE_STATISTICS, allEntries = true)
+    public List<Integer> saveAll(List<ClasseDto> classes) {
+        return insert(classes);
     }
 
     /**
      * Met à jour une classe existante.
-     * La méthode vérifie l'existence de la classe et du secteur associé avant de
-     * procéder à la mise à jour des données.
+     * La classe est chargée puis modifiée comme entité gérée : elle est en général servie par
+     * le cache de second niveau, et seule son entrée y est remplacée après l'écriture, sans
+     * invalider les autres classes. Le secteur est attaché par référence, sans être lu : une
+     * violation de la clé étrangère signifie que le secteur n'existe pas.
+     * Si le DTO porte une version, la modification n'est appliquée qu'à cette version (verrouillage
+     * optimiste) ; sinon elle est reprise après un conflit avec une autre écriture.
      *
      * @param classeDto L'objet {@link ClasseDto} contenant les données mises à jour.
-     * @return L'objet {@link ClasseDto} après la mise à jour.
+     * @return L'objet {@link ClasseDto} tel qu'enregistré, avec sa nouvelle version.
      * @throws EntityNotFoundException si la classe ou le secteur n'est pas trouvé.
+     * @throws ConcurrentUpdateException si la classe a été modifiée depuis la lecture de sa version.
      */
     @Override
-    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CLASSE_STATISTICS, allEntries = true)
     public ClasseDto update(ClasseDto classeDto) {
-        // Vérification de l'existence de la classe
-        ClasseEntity existingClasse = classeDao.findById(classeDto.getId())
+        if (classeDto.getVersion() != null) {
+            return transactionTemplate.execute(status -> applyUpdate(classeDto));
+        }
+        return optimisticLockRetry.execute(() -> applyUpdate(classeDto));
+    }
+
+    private ClasseDto applyUpdate(ClasseDto classeDto) {
+        ClasseEntity classe = classeDao.findById(classeDto.getId())
                 .orElseThrow(() -> new EntityNotFoundException(
                         messageSource.getMessage("classe.notfound", new Object[]{classeDto.getId()}, Locale.getDefault())
                 ));
+        Long version = classeDto.getVersion();
+        if (version != null && !version.equals(classe.getVersion())) {
+            throw new ConcurrentUpdateException(
+                    messageSource.getMessage("classe.conflict", new Object[]{classeDto.getId()}, Locale.getDefault())
+            );
+        }
 
-        // Recherche du secteur associé pour s'assurer de son existence
-        SectorEntity sector = sectorDao.findById(classeDto.getIdSector())
-                .orElseThrow(() -> new EntityNotFoundException(
-                        messageSource.getMessage("sector.notfound", new Object[]{classeDto.getIdSector()}, Locale.getDefault())
-                ));
+        classe.setClassName(classeDto.getClassName());
+        classe.setDescription(classeDto.getDescription());
+        classe.setSector(sectorDao.getReferenceById(classeDto.getIdSector()));
 
-        // Mise à jour des propriétés de l'entité existante
-        existingClasse.setClassName(classeDto.getClassName());
-        existingClasse.setDescription(classeDto.getDescription());
-        existingClasse.setSector(sector);
+        // L'écriture est envoyée immédiatement : une modification concurrente est détectée ici par la version.
+        try {
+            classe = classeDao.saveAndFlush(classe);
+        } catch (DataIntegrityViolationException e) {
+            throw translateSectorViolation(e, classeDto.getIdSector());
+        } catch (OptimisticLockingFailureException e) {
+            if (version == null) {
+                throw e;
+            }
+            throw new ConcurrentUpdateException(
+                    messageSource.getMessage("classe.conflict", new Object[]{classeDto.getId()}, Locale.getDefault())
+            );
+        }
 
-        return classeMapper.toClasseDto(classeDao.save(existingClasse));
+        autocompleteService.classeSaved(classe.getId(), classe.getClassName(), classeDto.getIdSector());
+        return classeMapper.toClasseDto(classe);
+    }
+
+    /**
+     * Importe en masse une liste de classes.
+     * Les lignes sont enregistrées par lots, chacun dans sa propre transaction ;
+     * une ligne invalide est signalée dans le compte rendu sans bloquer les autres.
+     *
+     * @param classes Les classes à importer.
+     * @return Le compte rendu de l'import.
+     */
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.CLASSE_STATISTICS, allEntries = true)
+    public ClasseImportResultDto importClasses(List<ClasseDto> classes) {
+        ClasseImporter importer = new ClasseImporter();
+        int row = 0;
+        for (ClasseDto classe : classes) {
+            importer.add(++row, classe);
+        }
+        return importer.finish();
+    }
+
+    /**
+     * Importe en masse des classes lues depuis un flux CSV (UTF-8).
+     * Le flux est lu ligne par ligne : seul le lot en cours est gardé en mémoire.
+     * Une éventuelle ligne d'en-tête est ignorée.
+     *
+     * @param csv Le flux CSV au format {@link ClasseCsvMapper#HEADER}.
+     * @return Le compte rendu de l'import.
+     */
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.CLASSE_STATISTICS, allEntries = true)
+    public ClasseImportResultDto importClassesCsv(InputStream csv) {
+        ClasseImporter importer = new ClasseImporter();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String line;
+            int row = 0;
+            while ((line = reader.readLine()) != null) {
+                row++;
+                if (line.isBlank() || (row == 1 && classeCsvMapper.isHeader(line))) {
+                    continue;
+                }
+                try {
+                    importer.add(row, classeCsvMapper.fromCsvLine(line));
+                } catch (IllegalArgumentException e) {
+                    importer.reject(row, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return importer.finish();
+    }
+
+    /**
+     * Calcule les statistiques des classes par une seule requête GROUP BY sur les secteurs :
+     * les totaux et la liste des secteurs vides sont déduits de ses lignes.
+     * Le résultat est mis en cache pour une courte durée et évincé à chaque écriture
+     * sur les classes ou les secteurs.
+     *
+     * @return Un {@link ClasseStatisticsDto}.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CLASSE_STATISTICS, key = "'all'")
+    public ClasseStatisticsDto getStatistics() {
+        List<SectorStatisticsDto> perSector = classeCriteriaDao.countClassesPerSector();
+        long totalClasses = perSector.stream().mapToLong(SectorStatisticsDto::getClassCount).sum();
+        List<SectorStatisticsDto> empty = perSector.stream().filter(sector -> sector.getClassCount() == 0).toList();
+        return new ClasseStatisticsDto(totalClasses, perSector.size(), List.copyOf(perSector), empty);
+    }
+
+    /**
+     * Exporte toutes les classes en flux, dans le format demandé.
+     * Les lignes sont lues par un curseur JDBC et projetées directement en DTO :
+     * aucune entité n'est conservée dans le contexte de persistance et aucune liste
+     * complète n'est construite, si bien que la mémoire utilisée ne dépend pas du
+     * nombre de classes. Le tampon est envoyé au client à intervalles réguliers.
+     *
+     * @param format Le format de sortie (CSV ou NDJSON).
+     * @param out    Le flux de sortie, qui n'est pas fermé par cette méthode.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportClasses(ExportFormat format, OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<ClasseDto> classes = classeDao.streamAllAsDto()) {
+            if (format == ExportFormat.CSV) {
+                writer.write(ClasseCsvMapper.EXPORT_HEADER);
+                writer.write('\n');
+            }
+            int count = 0;
+            for (ClasseDto classe : (Iterable<ClasseDto>) classes::iterator) {
+                writer.write(format == ExportFormat.CSV
+                        ? classeCsvMapper.toCsvLine(classe)
+                        : objectMapper.writeValueAsString(classe));
+                writer.write('\n');
+                if (++count % EXPORT_FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
      * Supprime une classe par son identifiant.
+     * La classe est supprimée comme entité, en général lue depuis le cache de second niveau :
+     * seule son entrée y est retirée, contrairement aux suppressions en masse qui vident la région.
      * @param id L'identifiant de la classe à supprimer.
      * @throws EntityNotFoundException si aucune classe n'est trouvée pour l'identifiant donné.
      */
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CLASSE_STATISTICS, allEntries = true)
     public void delete(Integer id) {
-        classeDao.deleteById(id);
+        ClasseEntity classe = classeDao.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        messageSource.getMessage("classe.notfound", new Object[]{id}, Locale.getDefault())));
+        classeDao.delete(classe);
+        autocompleteService.classeDeleted(id);
+    }
+
+    /**
+     * Supprime en masse des classes par leurs identifiants.
+     * Les identifiants sont dédoublonnés puis traités par paquets de {@link #BULK_CHUNK_SIZE},
+     * chacun par une seule requête DELETE ensembliste, dans une même transaction.
+     *
+     * @param ids Les identifiants des classes à supprimer.
+     * @return Le nombre d'identifiants demandés et de classes supprimées.
+     * @throws IllegalArgumentException si la liste d'identifiants est vide.
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CLASSE_STATISTICS, allEntries = true)
+    public ClasseBulkResultDto deleteAllById(List<Integer> ids) {
+        List<Integer> distinctIds = distinctIds(ids);
+        int deleted = 0;
+        for (int start = 0; start < distinctIds.size(); start += BULK_CHUNK_SIZE) {
+            deleted += classeDao.deleteAllByIdIn(
+                    distinctIds.subList(start, Math.min(start + BULK_CHUNK_SIZE, distinctIds.size())));
+        }
+        autocompleteService.classesDeleted(distinctIds);
+        return new ClasseBulkResultDto(distinctIds.size(), deleted);
+    }
+
+    /**
+     * Supprime toutes les classes d'un secteur par une seule requête DELETE ensembliste.
+     * @param sectorId L'identifiant du secteur.
+     * @return Le nombre de classes supprimées (0 si le secteur est vide ou inconnu), rapporté aussi
+     * comme nombre demandé : la requête vise toutes les classes du secteur.
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CLASSE_STATISTICS, allEntries = true)
+    public ClasseBulkResultDto deleteAllBySector(Integer sectorId) {
+        int deleted = classeDao.deleteAllBySectorId(sectorId);
+        autocompleteService.sectorClassesDeleted(sectorId);
+        return new ClasseBulkResultDto(deleted, deleted);
+    }
+
+    /**
+     * Rattache en masse des classes à un autre secteur.
+     * Les identifiants sont traités par paquets de {@link #BULK_CHUNK_SIZE}, chacun par une seule
+     * requête UPDATE ensembliste (qui incrémente aussi la version), dans une même transaction.
+     * L'existence du secteur cible est garantie par la clé étrangère.
+     *
+     * @param ids      Les identifiants des classes à déplacer.
+     * @param sectorId L'identifiant du secteur cible.
+     * @return Le nombre d'identifiants demandés et de classes modifiées.
+     * @throws IllegalArgumentException si la liste d'identifiants est vide ou le secteur absent.
+     * @throws EntityNotFoundException  si le secteur cible n'existe pas.
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CLASSE_STATISTICS, allEntries = true)
+    public ClasseBulkResultDto reassignSector(List<Integer> ids, Integer sectorId) {
+        if (sectorId == null) {
+            throw new IllegalArgumentException("Le secteur cible est obligatoire");
+        }
+        List<Integer> distinctIds = distinctIds(ids);
+        Instant now = Instant.now();
+        int updated = 0;
+        try {
+            for (int start = 0; start < distinctIds.size(); start += BULK_CHUNK_SIZE) {
+                updated += classeDao.updateSectorByIdIn(
+                        distinctIds.subList(start, Math.min(start + BULK_CHUNK_SIZE, distinctIds.size())), sectorId, now);
+            }
+        } catch (DataIntegrityViolationException e) {
+            throw translateSectorViolation(e, sectorId);
+        }
+        autocompleteService.classesMoved(distinctIds, sectorId);
+        return new ClasseBulkResultDto(distinctIds.size(), updated);
+    }
+
+    /**
+     * Dédoublonne les identifiants d'une opération en masse, en conservant leur ordre.
+     * @throws IllegalArgumentException si la liste est vide ou contient {@code null}.
+     */
+    private static List<Integer> distinctIds(List<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("La liste des identifiants est vide");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("La liste des identifiants contient une valeur nulle");
+        }
+        return List.copyOf(new LinkedHashSet<>(ids));
+    }
+
+    /**
+     * Accumule les lignes d'un import et les enregistre par lots de
+     * {@link ImportProperties#getChunkSize()} lignes, une transaction par lot.
+     * Les secteurs existants sont chargés une fois pour valider chaque ligne sans requête.
+     * Si un lot échoue malgré la validation, ses lignes sont rejouées une à une
+     * pour isoler celles en erreur.
+     */
+    private class ClasseImporter {
+
+        private final Set<Integer> sectorIds = new HashSet<>(sectorDao.findAllIds());
+        private final List<Integer> chunkRows = new ArrayList<>();
+        private final List<ClasseDto> chunk = new ArrayList<>();
+        private final ClasseImportResultDto result = new ClasseImportResultDto();
+
+        void add(int row, ClasseDto classe) {
+            result.setTotal(result.getTotal() + 1);
+            String error = validate(classe);
+            if (error != null) {
+                result.getErrors().add(new ClasseImportErrorDto(row, error));
+                return;
+            }
+            chunkRows.add(row);
+            chunk.add(classe);
+            if (chunk.size() >= importProperties.getChunkSize()) {
+                flushChunk();
+            }
+        }
+
+        void reject(int row, String message) {
+            result.setTotal(result.getTotal() + 1);
+            result.getErrors().add(new ClasseImportErrorDto(row, message));
+        }
+
+        ClasseImportResultDto finish() {
+            flushChunk();
+            result.getErrors().sort((a, b) -> Integer.compare(a.getRow(), b.getRow()));
+            return result;
+        }
+
+        private String validate(ClasseDto classe) {
+            // Un élément null d'un import JSON est une ligne en erreur, pas une erreur de la requête
+            if (classe == null) {
+                return messageSource.getMessage("classe.import.empty", null, Locale.getDefault());
+            }
+            Set<ConstraintViolation<ClasseDto>> violations = validator.validate(classe);
+            if (!violations.isEmpty()) {
+                return violations.iterator().next().getMessage();
+            }
+            if (classe.getIdSector() == null || !sectorIds.contains(classe.getIdSector())) {
+                return messageSource.getMessage("sector.notfound", new Object[]{classe.getIdSector()}, Locale.getDefault());
+            }
+            return null;
+        }
+
+        private void flushChunk() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(chunk));
+                result.setImported(result.getImported() + chunk.size());
+            } catch (RuntimeException chunkFailure) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    ClasseDto classe = chunk.get(i);
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> insert(List.of(classe)));
+                        result.setImported(result.getImported() + 1);
+                    } catch (DataIntegrityViolationException e) {
+                        String message = translateSectorViolation(e, classe.getIdSector()).getMessage();
+                        result.getErrors().add(new ClasseImportErrorDto(chunkRows.get(i), message));
+                    } catch (RuntimeException e) {
+                        result.getErrors().add(new ClasseImportErrorDto(chunkRows.get(i), e.getMessage()));
+                    }
+                }
+            }
+            chunk.clear();
+            chunkRows.clear();
+        }
+
+    }
+
+    /**
+     * Insère des classes par lots JDBC dans la transaction en cours, les secteurs étant rattachés
+     * par référence sans être chargés.
+     *
+     * @return Les identifiants attribués, dans l'ordre des classes.
+     */
+    private List<Integer> insert(List<ClasseDto> classes) {
+        List<ClasseEntity> entities = new ArrayList<>(classes.size());
+        for (ClasseDto classe : classes) {
+            ClasseEntity entity = new ClasseEntity(null, classe.getClassName(), classe.getDescription(),
+                    sectorDao.getReferenceById(classe.getIdSector()), null, null);
+            entities.add(entity);
+        }
+        classeCriteriaDao.insertAll(entities);
+        List<Integer> ids = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            ids.add(entities.get(i).getId());
+            autocompleteService.classeSaved(entities.get(i).getId(), classes.get(i).getClassName(),
+                    classes.get(i).getIdSector());
+        }
+        return ids;
+    }
+
+    /**
+     * Traduit la violation de la clé étrangère vers le secteur en {@link EntityNotFoundException}.
+     * Toute autre violation d'intégrité est relancée telle quelle.
+     */
+    private RuntimeException translateSectorViolation(DataIntegrityViolationException e, Integer idSector) {
+        // La clé vers le secteur est la seule clé étrangère de la table des classes : elle est reconnue
+        // au SQLSTATE, sans dépendre du nom de la contrainte, que Hibernate a généré (FK...) sur les
+        // bases créées par ddl-auto.
+        if (isForeignKeyViolation(e)) {
+            return new EntityNotFoundException(
+                    messageSource.getMessage("sector.notfound", new Object[]{idSector}, Locale.getDefault())
+            );
+        }
+        return e;
+    }
+
+    private static boolean isForeignKeyViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                for (SQLException next = sqlException; next != null; next = next.getNextException()) {
+                    if (FOREIGN_KEY_VIOLATION_STATES.contains(next.getSQLState())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Encode la position {@code (id, className)} de la dernière ligne d'une page en curseur opaque.
+     */
+    private static String encodeCursor(Integer id, String className) {
+        String raw = id + ":" + className;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un curseur produit par {@link #encodeCursor(Integer, String)}.
+     */
+    private static String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Curseur invalide : " + cursor, e);
+        }
     }
 }
\ No newline at end of file
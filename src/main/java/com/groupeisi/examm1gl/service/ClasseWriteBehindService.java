@@ -0,0 +1,329 @@
+package com.groupeisi.examm1gl.service;
+
+import com.groupeisi.examm1gl.config.ClasseWriteBehindProperties;
+import com.groupeisi.examm1gl.dto.ClasseDto;
+import com.groupeisi.examm1gl.dto.ClasseWriteStatusDto;
+import com.groupeisi.examm1gl.dto.WriteStatus;
+import com.groupeisi.examm1gl.exception.EntityNotFoundException;
+import com.groupeisi.examm1gl.exception.QueueFullException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.MessageSource;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Implémentation de l'écriture différée des créations de classes.
+ * Une création est validée dans le thread de la requête (contraintes du DTO, existence du secteur
+ * lue dans le cache des secteurs), puis déposée dans une file sans verrou ; un thread unique la
+ * retire et enregistre les créations par lots, une transaction par lot, au lieu d'une transaction
+ * par requête. Un lot part dès qu'il est complet, ou au plus tard après le délai d'attente suivant
+ * sa première création.
+ * <p>
+ * La file est bornée par un compteur atomique des créations acceptées et pas encore enregistrées :
+ * au-delà de la capacité, la création est refusée au lieu d'occuper davantage de mémoire.
+ * Si un lot est refusé par la base, ses créations sont rejouées une à une pour isoler celles en erreur.
+ * Les créations en file sont perdues si l'instance s'arrête brutalement ; un arrêt normal vide la file,
+ * une fois le serveur web arrêté, dans la limite du délai d'arrêt configuré.
+ */
+@Service
+public class ClasseWriteBehindService implements IUClasseWriteBehindService, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ClasseWriteBehindService.class);
+
+    /**
+     * Attente du thread d'enregistrement quand la file est vide ; une création le réveille aussitôt.
+     */
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+    /**
+     * Attente du thread d'enregistrement à l'arrêt, le temps qu'une création comptée mais pas
+     * encore déposée dans la file y arrive (ou soit refusée) ; une création le réveille aussitôt.
+     */
+    private static final long SHUTDOWN_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Service des classes, pour l'enregistrement des lots.
+     */
+    private final IUClasseService classeService;
+    /**
+     * Service des secteurs, dont le cache sert à vérifier l'existence du secteur sans requête.
+     */
+    private final IUSectorSrvice sectorService;
+    /**
+     * Validateur des contraintes du DTO.
+     */
+    private final Validator validator;
+    /**
+     * Source de messages pour la gestion des messages d'erreur internationalisés.
+     */
+    private final MessageSource messageSource;
+    /**
+     * Paramètres de l'écriture différée.
+     */
+    private final ClasseWriteBehindProperties properties;
+
+    private final ConcurrentLinkedQueue<PendingWrite> queue = new ConcurrentLinkedQueue<>();
+    // Créations acceptées et pas encore enregistrées (en file ou dans le lot en cours).
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Map<String, ClasseWriteStatusDto> statuses = new ConcurrentHashMap<>();
+    // Créations terminées, dans l'ordre : leur état est oublié passé la durée de conservation,
+    // ou plus tôt au-delà du nombre d'états conservés.
+    private final ConcurrentLinkedQueue<CompletedWrite> completed = new ConcurrentLinkedQueue<>();
+    // Taille de completed, lue et modifiée par le seul thread d'enregistrement.
+    private int completedCount;
+
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    /**
+     * Constructeur pour l'injection des dépendances.
+     * @param classeService Le service des classes.
+     * @param sectorService Le service des secteurs.
+     * @param validator Le validateur des contraintes du DTO.
+     * @param messageSource La source des messages d'erreur.
+     * @param properties Les paramètres de l'écriture différée.
+     */
+    public ClasseWriteBehindService(IUClasseService classeService, IUSectorSrvice sectorService, Validator validator,
+                                    MessageSource messageSource, ClasseWriteBehindProperties properties) {
+        this.classeService = classeService;
+        this.sectorService = sectorService;
+        this.validator = validator;
+        this.messageSource = messageSource;
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Valide une création de classe puis la met en file.
+     * @param classeDto La classe à créer.
+     * @return Le suivi de la création, à l'état {@link WriteStatus#PENDING}.
+     * @throws IllegalArgumentException si la classe est invalide.
+     * @throws EntityNotFoundException si le secteur n'existe pas.
+     * @throws QueueFullException si la file est pleine ou si l'écriture différée est arrêtée.
+     */
+    @Override
+    public ClasseWriteStatusDto enqueue(ClasseDto classeDto) {
+        Set<ConstraintViolation<ClasseDto>> violations = validator.validate(classeDto);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.iterator().next().getMessage());
+        }
+        if (classeDto.getIdSector() == null) {
+            throw new IllegalArgumentException("Le secteur de la classe est obligatoire");
+        }
+        sectorService.get(classeDto.getIdSector());
+
+        if (!running) {
+            throw new QueueFullException("L'écriture différée des classes n'accepte plus de créations.");
+        }
+        if (pending.incrementAndGet() > properties.getQueueCapacity()) {
+            pending.decrementAndGet();
+            throw new QueueFullException("La file des créations de classes est pleine ; réessayez plus tard.");
+        }
+        // Un arrêt survenu avant l'incrément a pu laisser le thread d'enregistrement terminer sur une file vide.
+        if (!running) {
+            pending.decrementAndGet();
+            throw new QueueFullException("L'écriture différée des classes n'accepte plus de créations.");
+        }
+        String trackingId = UUID.randomUUID().toString();
+        ClasseWriteStatusDto status = new ClasseWriteStatusDto(trackingId, WriteStatus.PENDING, null, null);
+        statuses.put(trackingId, status);
+        queue.offer(new PendingWrite(trackingId, new ClasseDto(null, classeDto.getClassName(),
+                classeDto.getDescription(), classeDto.getIdSector(), null)));
+        LockSupport.unpark(worker);
+        return status;
+    }
+
+    @Override
+    public ClasseWriteStatusDto getStatus(String trackingId) {
+        ClasseWriteStatusDto status = statuses.get(trackingId);
+        if (status == null) {
+            throw new EntityNotFoundException(
+                    messageSource.getMessage("classe.write.notfound", new Object[]{trackingId}, Locale.getDefault()));
+        }
+        return status;
+    }
+
+    /**
+     * Nombre de créations acceptées et pas encore enregistrées.
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Démarre le thread d'enregistrement si l'écriture différée est activée.
+     */
+    @Override
+    public void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::drain, "classe-write-behind");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    /**
+     * Refuse les nouvelles créations et attend que la file soit enregistrée, au plus pendant
+     * le délai d'arrêt configuré ; les créations restantes sont alors abandonnées.
+     */
+    @Override
+    public void stop() {
+        Thread thread = worker;
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            log.warn("Arrêt de l'écriture différée après {} : {} créations de classes non enregistrées",
+                    properties.getShutdownTimeout(), pending.get());
+        }
+        worker = null;
+    }
+
+    /**
+     * Phase inférieure à celle du serveur web : le thread d'enregistrement démarre avant lui et
+     * ne s'arrête qu'après lui, une fois que plus aucune requête ne peut ajouter de création.
+     */
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Boucle du thread d'enregistrement : constitue les lots et les enregistre, jusqu'à l'arrêt
+     * et au vidage de la file.
+     */
+    private void drain() {
+        int batchSize = properties.getBatchSize();
+        long lingerNanos = properties.getLinger().toNanos();
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        // À l'arrêt, la boucle continue tant qu'une création acceptée n'est pas enregistrée.
+        while (running || pending.get() > 0) {
+            forgetExpiredStatuses();
+            PendingWrite first = queue.poll();
+            if (first == null) {
+                LockSupport.parkNanos(this, running ? IDLE_PARK_NANOS : SHUTDOWN_PARK_NANOS);
+                continue;
+            }
+            batch.add(first);
+            long deadline = System.nanoTime() + lingerNanos;
+            while (batch.size() < batchSize) {
+                PendingWrite next = queue.poll();
+                if (next != null) {
+                    batch.add(next);
+                    continue;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !running) {
+                    break;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+            try {
+                flush(batch);
+            } catch (RuntimeException e) {
+                // Ne doit pas arriver (chaque création est traitée individuellement en dernier recours) ;
+                // le thread survit pour ne pas bloquer la file.
+                log.error("Échec de l'enregistrement d'un lot de {} classes", batch.size(), e);
+                batch.forEach(write -> complete(write, null, e.getMessage()));
+            }
+            pending.addAndGet(-batch.size());
+            batch.clear();
+        }
+    }
+
+    /**
+     * Enregistre un lot en une transaction ; en cas d'échec, rejoue ses créations une à une.
+     */
+    private void flush(List<PendingWrite> batch) {
+        List<ClasseDto> classes = new ArrayList<>(batch.size());
+        batch.forEach(write -> classes.add(write.classe()));
+        List<Integer> ids;
+        try {
+            ids = classeService.saveAll(classes);
+        } catch (RuntimeException batchFailure) {
+            for (PendingWrite write : batch) {
+                try {
+                    complete(write, classeService.save(write.classe()).getId(), null);
+                } catch (RuntimeException e) {
+                    complete(write, null, e.getMessage());
+                }
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            complete(batch.get(i), ids.get(i), null);
+        }
+    }
+
+    private void complete(PendingWrite write, Integer id, String message) {
+        WriteStatus status = id != null ? WriteStatus.SAVED : WriteStatus.FAILED;
+        statuses.put(write.trackingId(), new ClasseWriteStatusDto(write.trackingId(), status, id, message));
+        completed.offer(new CompletedWrite(write.trackingId(), System.nanoTime()));
+        if (++completedCount > properties.getMaxRetainedStatuses()) {
+            forgetOldestStatus();
+        }
+    }
+
+    private void forgetExpiredStatuses() {
+        long retention = properties.getStatusRetention().toNanos();
+        long now = System.nanoTime();
+        CompletedWrite head;
+        while ((head = completed.peek()) != null && now - head.completedAt() > retention) {
+            forgetOldestStatus();
+        }
+    }
+
+    private void forgetOldestStatus() {
+        CompletedWrite oldest = completed.poll();
+        if (oldest != null) {
+            completedCount--;
+            statuses.remove(oldest.trackingId());
+        }
+    }
+
+    /**
+     * Création acceptée, en attente d'enregistrement.
+     */
+    private record PendingWrite(String trackingId, ClasseDto classe) {
+    }
+
+    /**
+     * Création terminée, dont l'état est conservé jusqu'à expiration.
+     */
+    private record CompletedWrite(String trackingId, long completedAt) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.groupeisi.examm1gl.service;
+
+import com.groupeisi.examm1gl.dto.AutocompleteDto;
+
+import java.util.Collection;
+
+/**
+ * Interface de service pour l'autocomplétion des noms de classes et de secteurs.
+ * Les suggestions sont servies par un index en mémoire, tenu à jour par les services
+ * d'écriture, sans accès à la base de données.
+ */
+public interface IUAutocompleteService {
+    /**
+     * Recherche les classes et les secteurs dont le nom commence par un préfixe.
+     * @param prefix Le préfixe saisi (casse et accents ignorés).
+     * @param limit Nombre maximum de suggestions par type (optionnel, plafonné par l'implémentation).
+     * @return Un {@link AutocompleteDto} contenant les suggestions triées par nom.
+     */
+    public AutocompleteDto suggest(String prefix, Integer limit);
+
+    /**
+     * Recharge entièrement l'index depuis la base de données.
+     */
+    public void reload();
+
+    /**
+     * Indexe une classe créée ou modifiée. Appliqué au commit de la transaction en cours, s'il y en a une.
+     * @param id L'identifiant de la classe.
+     * @param className Le nom de la classe.
+     * @param sectorId L'identifiant de son secteur.
+     */
+    public void classeSaved(Integer id, String className, Integer sectorId);
+
+    /**
+     * Retire une classe de l'index. Appliqué au commit de la transaction en cours, s'il y en a une.
+     * @param id L'identifiant de la classe supprimée.
+     */
+    public void classeDeleted(Integer id);
+
+    /**
+     * Indexe un secteur créé ou modifié. Appliqué au commit de la transaction en cours, s'il y en a une.
+     * @param id L'identifiant du secteur.
+     * @param name Le nom du secteur.
+     */
+    public void sectorSaved(Integer id, String name);
+
+    /**
+     * Retire de l'index un secteur et ses classes. Appliqué au commit de la transaction en cours, s'il y en a une.
+     * @param id L'identifiant du secteur supprimé.
+     */
+    public void sectorDeleted(Integer id);
+
+    /**
+     * Retire des classes de l'index. Appliqué au commit de la transaction en cours, s'il y en a une.
+     * @param ids Les identifiants des classes supprimées.
+     */
+    public void classesDeleted(Collection<Integer> ids);
+
+    /**
+     * Retire de l'index toutes les classes d'un secteur, qui est conservé.
+     * Appliqué au commit de la transaction en cours, s'il y en a une.
+     * @param sectorId L'identifiant du secteur vidé.
+     */
+    public void sectorClassesDeleted(Integer sectorId);
+
+    /**
+     * Enregistre le changement de secteur de classes indexées.
+     * Appliqué au commit de la transaction en cours, s'il y en a une.
+     * @param ids Les identifiants des classes déplacées.
+     * @param sectorId L'identifiant de leur nouveau secteur.
+     */
+    public void classesMoved(Collection<Integer> ids, Integer sectorId);
+}
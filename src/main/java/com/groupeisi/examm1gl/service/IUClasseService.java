@@ -1,8 +1,17 @@
 package com.groupeisi.examm1gl.service;
 
+import com.groupeisi.examm1gl.dto.ClasseBulkResultDto;
 import com.groupeisi.examm1gl.dto.ClasseDto;
+import com.groupeisi.examm1gl.dto.ClasseImportResultDto;
+import com.groupeisi.examm1gl.dto.ExportFormat;
+import com.groupeisi.examm1gl.dto.ClassePageDto;
+import com.groupeisi.examm1gl.dto.ClasseSearchPageDto;
+import com.groupeisi.examm1gl.dto.ClasseStatisticsDto;
+import com.groupeisi.examm1gl.dto.VersionStampDto;
 import com.groupeisi.examm1gl.exception.EntityNotFoundException;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -17,6 +26,36 @@ public interface IUClasseService {
      */
     public List<ClasseDto> getAll();
 
+    /**
+     * Récupère une page de classes triées par nom, en pagination par curseur.
+     * @param cursor Curseur de la page précédente, ou {@code null} pour la première page.
+     * @param size Taille de page souhaitée (plafonnée par l'implémentation).
+     * @param sectorId Filtre optionnel sur l'identifiant du secteur.
+     * @param namePrefix Filtre optionnel sur le début du nom de la classe.
+     * @return Un {@link ClassePageDto} contenant les classes et le curseur suivant.
+     * @throws IllegalArgumentException si le curseur est invalide.
+     */
+    public ClassePageDto getPage(String cursor, Integer size, Integer sectorId, String namePrefix);
+
+    /**
+     * Recherche les classes dont le nom ou la description contient un fragment (sans tenir compte
+     * de la casse), classées par pertinence puis par nom.
+     * @param query Le fragment recherché.
+     * @param page Numéro de la page, à partir de 0 (optionnel).
+     * @param size Taille de page souhaitée (plafonnée par l'implémentation).
+     * @return Un {@link ClasseSearchPageDto} contenant les classes trouvées.
+     * @throws IllegalArgumentException si le fragment est trop court ou le numéro de page négatif ou trop grand.
+     */
+    public ClasseSearchPageDto search(String query, Integer page, Integer size);
+
+    /**
+     * Parcourt toutes les classes triées par nom, chargées par lots au fil de l'itération
+     * (pour le rendu progressif de la liste).
+     * @param batchSize Nombre de classes par lot.
+     * @return Un {@link BatchIterable} de {@link ClasseDto}.
+     */
+    public BatchIterable<ClasseDto> iterateAll(int batchSize);
+
     /**
      * Récupère une classe par son identifiant unique.
      * @param id L'identifiant de la classe à récupérer.
@@ -25,6 +64,20 @@ public interface IUClasseService {
      */
     public ClasseDto get(Integer id);
 
+    /**
+     * Calcule le validateur HTTP (ETag, Last-Modified) de la liste des classes sans la charger.
+     * @return Le {@link VersionStampDto} de la liste.
+     */
+    public VersionStampDto getListVersion();
+
+    /**
+     * Calcule le validateur HTTP (ETag, Last-Modified) d'une classe sans la charger.
+     * @param id L'identifiant de la classe.
+     * @return Le {@link VersionStampDto} de la classe.
+     * @throws EntityNotFoundException si aucune classe n'est trouvée avec cet identifiant.
+     */
+    public VersionStampDto getVersion(Integer id);
+
     /**
      * Enregistre une nouvelle classe.
      * @param classeDto L'objet {@link ClasseDto} contenant les données de la nouvelle classe.
@@ -33,18 +86,80 @@ public interface IUClasseService {
      */
     public ClasseDto save(ClasseDto classeDto);
 
+    /**
+     * Enregistre en une seule transaction des classes déjà validées.
+     * @param classes Les classes à enregistrer.
+     * @return Les identifiants attribués, dans l'ordre des classes.
+     */
+    public List<Integer> saveAll(List<ClasseDto> classes);
+
     /**
      * Met à jour une classe existante.
+     * Si le DTO porte une version, la modification est refusée lorsque la classe a changé depuis.
      * @param classeDto L'objet {@link ClasseDto} contenant les données mises à jour.
      * @return L'objet {@link ClasseDto} de la classe modifiée.
      * @throws EntityNotFoundException si la classe ou le secteur associé n'est pas trouvé.
+     * @throws com.groupeisi.examm1gl.exception.ConcurrentUpdateException si la version fournie est périmée.
      */
     public ClasseDto update(ClasseDto classeDto);
 
     /**
-     * Supprime une classe par son identifiant unique.
+     * Importe en masse une liste de classes, par lots transactionnels.
+     * @param classes Les classes à importer.
+     * @return Un {@link ClasseImportResultDto} indiquant les lignes importées et celles en erreur.
+     */
+    public ClasseImportResultDto importClasses(List<ClasseDto> classes);
+
+    /**
+     * Importe en masse des classes depuis un flux CSV, par lots transactionnels.
+     * @param csv Le flux CSV ({@code className,description,idSector}), encodé en UTF-8.
+     * @return Un {@link ClasseImportResultDto} indiquant les lignes importées et celles en erreur.
+     */
+    public ClasseImportResultDto importClassesCsv(InputStream csv);
+
+    /**
+     * Récupère les statistiques des classes : nombre de classes par secteur,
+     * totaux et secteurs sans classe.
+     * @return Un {@link ClasseStatisticsDto}.
+     */
+    public ClasseStatisticsDto getStatistics();
+
+    /**
+     * Exporte toutes les classes en flux, sans les charger toutes en mémoire.
+     * @param format Le format de sortie (CSV ou NDJSON).
+     * @param out Le flux dans lequel écrire les classes.
+     */
+    public void exportClasses(ExportFormat format, OutputStream out);
+
+    /**
+     * Supprime une classe par son identifiant unique, sans la charger.
      * @param id L'identifiant de la classe à supprimer.
      * @throws EntityNotFoundException si la classe n'est pas trouvée.
      */
     public void delete(Integer id);
-}
\ No newline at end of file
+
+    /**
+     * Supprime en masse des classes par leurs identifiants, sans les charger.
+     * @param ids Les identifiants des classes à supprimer ; les identifiants inconnus sont ignorés.
+     * @return Un {@link ClasseBulkResultDto} indiquant le nombre de classes supprimées.
+     * @throws IllegalArgumentException si la liste d'identifiants est vide.
+     */
+    public ClasseBulkResultDto deleteAllById(List<Integer> ids);
+
+    /**
+     * Supprime toutes les classes d'un secteur, qui est conservé.
+     * @param sectorId L'identifiant du secteur.
+     * @return Un {@link ClasseBulkResultDto} indiquant le nombre de classes supprimées.
+     */
+    public ClasseBulkResultDto deleteAllBySector(Integer sectorId);
+
+    /**
+     * Rattache en masse des classes à un autre secteur, sans les charger.
+     * @param ids Les identifiants des classes à déplacer ; les identifiants inconnus sont ignorés.
+     * @param sectorId L'identifiant du secteur cible.
+     * @return Un {@link ClasseBulkResultDto} indiquant le nombre de classes modifiées.
+     * @throws IllegalArgumentException si la liste d'identifiants est vide ou le secteur absent.
+     * @throws EntityNotFoundException si le secteur cible n'existe pas.
+     */
+    public ClasseBulkResultDto reassignSector(List<Integer> ids, Integer sectorId);
+}
@@ -0,0 +1,36 @@
+package com.groupeisi.examm1gl.service;
+
+import com.groupeisi.examm1gl.dto.ClasseDto;
+import com.groupeisi.examm1gl.dto.ClasseWriteStatusDto;
+import com.groupeisi.examm1gl.exception.EntityNotFoundException;
+import com.groupeisi.examm1gl.exception.QueueFullException;
+
+/**
+ * Interface du service d'écriture différée des créations de classes.
+ */
+public interface IUClasseWriteBehindService {
+
+    /**
+     * Indique si l'écriture différée est activée.
+     * @return {@code true} si les créations doivent passer par {@link #enqueue(ClasseDto)}.
+     */
+    boolean isEnabled();
+
+    /**
+     * Valide une création de classe puis la met en file pour un enregistrement par lot.
+     * @param classeDto La classe à créer.
+     * @return Le suivi de la création, à l'état {@code PENDING}.
+     * @throws IllegalArgumentException si la classe est invalide.
+     * @throws EntityNotFoundException si le secteur n'existe pas.
+     * @throws QueueFullException si la file est pleine.
+     */
+    ClasseWriteStatusDto enqueue(ClasseDto classeDto);
+
+    /**
+     * Récupère l'état d'une création acceptée.
+     * @param trackingId L'identifiant de suivi renvoyé à l'acceptation.
+     * @return Le suivi de la création.
+     * @throws EntityNotFoundException si l'identifiant est inconnu ou son état n'est plus conservé.
+     */
+    ClasseWriteStatusDto getStatus(String trackingId);
+}
@@ -1,6 +1,7 @@
 package com.groupeisi.examm1gl.service;
 
 import com.groupeisi.examm1gl.dto.SectorDto;
+import com.groupeisi.examm1gl.dto.VersionStampDto;
 
 import java.util.List;
 
@@ -22,6 +23,19 @@ public interface IUSectorSrvice {
      */
     SectorDto get(int id);
 
+    /**
+     * Calcule le validateur HTTP (ETag, Last-Modified) de la liste des secteurs sans la charger.
+     * @return Le VersionStampDto de la liste.
+     */
+    VersionStampDto getListVersion();
+
+    /**
+     * Calcule le validateur HTTP (ETag, Last-Modified) d'un secteur sans le charger.
+     * @param id L'ID du secteur.
+     * @return Le VersionStampDto du secteur.
+     */
+    VersionStampDto getVersion(int id);
+
     /**
      * Récupère un secteur par son nom.
      * @param nom Le nom du secteur.
@@ -38,8 +52,10 @@ public interface IUSectorSrvice {
 
     /**
      * Met à jour un secteur existant.
+     * Si le DTO porte une version, la modification est refusée lorsque le secteur a changé depuis.
      * @param sector L'objet SectorDto mis à jour.
      * @return L'objet SectorDto mis à jour.
+     * @throws com.groupeisi.examm1gl.exception.ConcurrentUpdateException si la version fournie est périmée.
      */
     SectorDto update(SectorDto sector);
 
@@ -0,0 +1,64 @@
+package com.groupeisi.examm1gl.service;
+
+import com.groupeisi.examm1gl.config.RetryProperties;
+import lombok.AllArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Politique de reprise bornée des modifications internes idempotentes.
+ * Chaque tentative s'exécute dans sa propre transaction et relit donc l'état courant :
+ * une modification qui réapplique les mêmes valeurs peut être rejouée sans risque après
+ * un conflit de verrouillage optimiste, plutôt que d'être sérialisée par un verrou pessimiste.
+ * Les modifications portant une version lue par l'utilisateur ne doivent pas passer par ici :
+ * un conflit signifie alors que l'utilisateur doit recharger la donnée.
+ */
+@Component
+@AllArgsConstructor
+public class OptimisticLockRetry {
+
+    private TransactionTemplate transactionTemplate;
+    private RetryProperties retryProperties;
+
+    /**
+     * Exécute une modification en la reprenant, dans la limite du nombre de tentatives configuré,
+     * tant qu'elle échoue sur un conflit de verrouillage optimiste.
+     * Si une transaction est déjà active, la modification n'est exécutée qu'une fois : elle ne
+     * peut pas être rejouée isolément sans la transaction englobante.
+     *
+     * @param action La modification à exécuter.
+     * @param <T>    Le type du résultat.
+     * @return Le résultat de la première tentative réussie.
+     * @throws OptimisticLockingFailureException si la dernière tentative échoue encore sur un conflit.
+     */
+    public <T> T execute(Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+        long backoff = retryProperties.getBackoff().toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= retryProperties.getMaxAttempts()) {
+                    throw e;
+                }
+                pause(backoff);
+                backoff *= 2;
+            }
+        }
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reprise interrompue", e);
+        }
+    }
+}
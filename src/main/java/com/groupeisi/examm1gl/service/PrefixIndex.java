@@ -0,0 +1,119 @@
+package com.groupeisi.examm1gl.service;
+
+import com.groupeisi.examm1gl.dto.SuggestionDto;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Index en mémoire des noms par préfixe, pour l'autocomplétion.
+ * Les noms sont rangés, normalisés (minuscules, sans accents), dans une liste à enjambements
+ * triée : une recherche est une descente en O(log n) jusqu'au préfixe suivie d'une lecture
+ * séquentielle des entrées qui le partagent, et un ajout ou une suppression ne recopie rien.
+ * Les lectures se font sans verrou ; les écritures, rares, sont sérialisées.
+ * Chaque entrée peut appartenir à un groupe (le secteur d'une classe) pour être retirée avec lui.
+ */
+public class PrefixIndex {
+
+    // Sépare le nom normalisé de l'identifiant dans la clé : les homonymes restent distincts
+    // et triés juste après le nom, avant tout nom plus long.
+    private static final char SEPARATOR = '\u0000';
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private final NavigableMap<String, Entry> entries = new ConcurrentSkipListMap<>();
+    private final Map<Integer, Entry> byId = new ConcurrentHashMap<>();
+
+    /**
+     * Ajoute une entrée, ou remplace celle de même identifiant.
+     * @param id    Identifiant de l'élément.
+     * @param name  Nom affiché et indexé.
+     * @param group Groupe de l'élément (ex. identifiant du secteur), ou {@code null}.
+     */
+    public synchronized void put(int id, String name, Integer group) {
+        Entry entry = new Entry(normalize(name) + SEPARATOR + id, new SuggestionDto(id, name), group);
+        Entry previous = byId.put(id, entry);
+        if (previous != null) {
+            entries.remove(previous.key);
+        }
+        entries.put(entry.key, entry);
+    }
+
+    /**
+     * Retire l'entrée d'identifiant donné, si elle existe.
+     */
+    public synchronized void remove(int id) {
+        Entry previous = byId.remove(id);
+        if (previous != null) {
+            entries.remove(previous.key);
+        }
+    }
+
+    /**
+     * Change le groupe de l'entrée d'identifiant donné, si elle existe.
+     */
+    public synchronized void regroup(int id, Integer group) {
+        Entry previous = byId.get(id);
+        if (previous != null) {
+            Entry entry = new Entry(previous.key, previous.suggestion, group);
+            byId.put(id, entry);
+            entries.put(entry.key, entry);
+        }
+    }
+
+    /**
+     * Retire toutes les entrées d'un groupe (parcours complet : réservé aux suppressions rares).
+     */
+    public synchronized void removeGroup(int group) {
+        byId.values().removeIf(entry -> {
+            if (entry.group != null && entry.group == group) {
+                entries.remove(entry.key);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Recherche les entrées dont le nom commence par un préfixe, sans tenir compte de la casse
+     * ni des accents, triées par nom.
+     * @param prefix Le préfixe saisi.
+     * @param limit  Nombre maximum d'entrées retournées.
+     * @return Les entrées trouvées, au plus {@code limit}.
+     */
+    public List<SuggestionDto> find(String prefix, int limit) {
+        String from = normalize(prefix);
+        List<SuggestionDto> result = new ArrayList<>(Math.min(limit, 16));
+        for (Entry entry : entries.tailMap(from, true).values()) {
+            if (result.size() >= limit || !entry.key.startsWith(from)) {
+                break;
+            }
+            result.add(entry.suggestion);
+        }
+        return result;
+    }
+
+    /**
+     * @return Le nombre d'entrées indexées.
+     */
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Forme comparée des noms : décomposée, sans marques diacritiques, en minuscules.
+     */
+    static String normalize(String value) {
+        String decomposed = Normalizer.normalize(value.strip(), Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(String key, SuggestionDto suggestion, Integer group) {
+    }
+}
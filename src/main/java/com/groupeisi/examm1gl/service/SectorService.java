@@ -1,23 +1,36 @@
 package com.groupeisi.examm1gl.service;
 
+import com.groupeisi.examm1gl.config.CacheConfig;
+import com.groupeisi.examm1gl.dao.IClasseDao;
 import com.groupeisi.examm1gl.dao.ISectorDao;
 import com.groupeisi.examm1gl.dto.SectorDto;
+import com.groupeisi.examm1gl.dto.VersionStampDto;
 import com.groupeisi.examm1gl.entity.SectorEntity;
+import com.groupeisi.examm1gl.exception.ConcurrentUpdateException;
 import com.groupeisi.examm1gl.exception.EntityNotFoundException;
 import com.groupeisi.examm1gl.mapper.SectorMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.Setter;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.MessageSource;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.util.List;
 import java.util.Locale;
 
 /**
  * Implémentation du service pour la gestion des secteurs.
  * Cette classe gère la logique métier des opérations CRUD pour les secteurs.
+ * Les secteurs étant des données de référence qui changent rarement, les lectures
+ * sont mises en cache et les écritures évincent uniquement les entrées concernées.
  */
 @Service
+@Timed(value = "app.service", description = "Durée des opérations des services", percentiles = {0.5, 0.95, 0.99})
 @AllArgsConstructor
 @Setter
 public class SectorService implements IUSectorSrvice {
@@ -26,6 +39,10 @@ public class SectorService implements IUSectorSrvice {
      * DAO pour l'accès aux données des secteurs.
      */
     private ISectorDao sectorDao;
+    /**
+     * DAO pour l'accès aux données des classes, utilisé pour supprimer en bloc les classes d'un secteur.
+     */
+    private IClasseDao classeDao;
     /**
      * Mapper pour la conversion entre les entités et les DTO de secteur.
      */
@@ -34,16 +51,33 @@ public class SectorService implements IUSectorSrvice {
      * Source de messages pour la gestion des messages d'erreur internationalisés.
      */
     private MessageSource messageSource;
+    /**
+     * Gestionnaire de caches, utilisé pour évincer les secteurs modifiés.
+     */
+    private CacheManager cacheManager;
+    /**
+     * Service d'autocomplétion, dont l'index des noms est tenu à jour à chaque écriture.
+     */
+    private IUAutocompleteService autocompleteService;
+    /**
+     * Modèle de transaction, pour les modifications versionnées.
+     */
+    private TransactionTemplate transactionTemplate;
+    /**
+     * Politique de reprise des modifications sans version après un conflit de verrouillage optimiste.
+     */
+    private OptimisticLockRetry optimisticLockRetry;
 
     /**
      * Récupère la liste de tous les secteurs.
+     * Les lectures sont projetées directement en {@link SectorDto}, sans hydrater d'entités.
      * @return Une liste d'objets {@link SectorDto}.
      */
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.SECTORS, key = "'all'")
     public List<SectorDto> getAll() {
-        List<SectorEntity> sectors = sectorDao.findAll();
-        return sectorMapper.listSectorEntityToListSectorDto(sectors);
+        return List.copyOf(sectorDao.findAllAsDto());
     }
 
     /**
@@ -54,14 +88,41 @@ public class SectorService implements IUSectorSrvice {
      */
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.SECTOR_BY_ID, key = "#id")
     public SectorDto get(int id) {
-        return sectorDao.findById(id)
-                .map(sectorMapper::toSectorDto)
+        return sectorDao.findDtoById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         messageSource.getMessage("sector.notfound", new Object[]{id}, Locale.getDefault())
                 ));
     }
 
+    /**
+     * Calcule le validateur de la liste des secteurs par une requête d'agrégat, sans charger les lignes.
+     * @return Le {@link VersionStampDto} de la liste.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public VersionStampDto getListVersion() {
+        return sectorDao.findVersionStamp();
+    }
+
+    /**
+     * Calcule le validateur d'un secteur sans le charger.
+     * @param id L'identifiant du secteur.
+     * @return Le {@link VersionStampDto} du secteur.
+     * @throws EntityNotFoundException si aucun secteur n'est trouvé pour l'identifiant donné.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public VersionStampDto getVersion(int id) {
+        VersionStampDto stamp = sectorDao.findVersionStampById(id);
+        if (stamp.getCount() == 0) {
+            throw new EntityNotFoundException(
+                    messageSource.getMessage("sector.notfound", new Object[]{id}, Locale.getDefault()));
+        }
+        return stamp;
+    }
+
     /**
      * Récupère un secteur par son nom.
      * @param nom Le nom du secteur à rechercher.
@@ -70,9 +131,9 @@ public class SectorService implements IUSectorSrvice {
      */
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.SECTOR_BY_NAME, key = "#nom")
     public SectorDto getSectorByName(String nom) {
-        return sectorDao.findByName(nom)
-                .map(sectorMapper::toSectorDto)
+        return sectorDao.findDtoByName(nom)
                 .orElseThrow(() -> new EntityNotFoundException(
                         messageSource.getMessage("sector.notfound.byName", new Object[]{nom}, Locale.getDefault())
                 ));
@@ -87,42 +148,105 @@ public class SectorService implements IUSectorSrvice {
     @Transactional
     public SectorDto add(SectorDto sector) {
         SectorEntity sectorEntity = sectorMapper.toSectorEntity(sector);
-        return sectorMapper.toSectorDto(sectorDao.save(sectorEntity));
+        SectorDto saved = sectorMapper.toSectorDto(sectorDao.save(sectorEntity));
+        evictSector(null, null);
+        autocompleteService.sectorSaved(saved.getId(), saved.getName());
+        return saved;
     }
 
     /**
      * Met à jour un secteur existant.
+     * Si le DTO porte une version, elle doit être celle du secteur enregistré (verrouillage optimiste) ;
+     * à défaut, la modification, idempotente, est reprise sur l'état relu en cas d'écriture concurrente.
      * @param sector L'objet {@link SectorDto} avec les données mises à jour.
-     * @return L'objet {@link SectorDto} du secteur modifié.
+     * @return L'objet {@link SectorDto} du secteur modifié, avec sa nouvelle version.
      * @throws EntityNotFoundException si le secteur n'est pas trouvé.
+     * @throws ConcurrentUpdateException si le secteur a été modifié depuis la lecture de sa version.
      */
     @Override
-    @Transactional
     public SectorDto update(SectorDto sector) {
+        if (sector.getVersion() != null) {
+            return transactionTemplate.execute(status -> applyUpdate(sector));
+        }
+        return optimisticLockRetry.execute(() -> applyUpdate(sector));
+    }
+
+    private SectorDto applyUpdate(SectorDto sector) {
         // Vérifie si le secteur existe avant de le mettre à jour.
         SectorEntity existingSector = sectorDao.findById(sector.getId())
                 .orElseThrow(() -> new EntityNotFoundException(
                         messageSource.getMessage("sector.notfound", new Object[]{sector.getId()}, Locale.getDefault())
                 ));
+        if (sector.getVersion() != null && !sector.getVersion().equals(existingSector.getVersion())) {
+            throw new ConcurrentUpdateException(
+                    messageSource.getMessage("sector.conflict", new Object[]{sector.getId()}, Locale.getDefault()));
+        }
 
+        String previousName = existingSector.getName();
         existingSector.setName(sector.getName());
 
-        return sectorMapper.toSectorDto(sectorDao.save(existingSector));
+        // L'écriture est envoyée immédiatement : une modification concurrente est détectée ici par la version.
+        SectorEntity savedSector;
+        try {
+            savedSector = sectorDao.saveAndFlush(existingSector);
+        } catch (OptimisticLockingFailureException e) {
+            if (sector.getVersion() == null) {
+                throw e;
+            }
+            throw new ConcurrentUpdateException(
+                    messageSource.getMessage("sector.conflict", new Object[]{sector.getId()}, Locale.getDefault())
+            );
+        }
+        SectorDto saved = sectorMapper.toSectorDto(savedSector);
+        evictSector(existingSector.getId(), previousName);
+        autocompleteService.sectorSaved(saved.getId(), saved.getName());
+        return saved;
     }
 
     /**
-     * Supprime un secteur par son identifiant.
+     * Supprime un secteur et toutes ses classes.
+     * Les classes sont supprimées par une seule requête DELETE ensembliste, puis le secteur :
+     * ni le secteur ni sa collection de classes ne sont chargés, et le nombre de requêtes
+     * ne dépend pas du nombre de classes (une lecture du nom pour les caches, deux DELETE).
      * @param id L'identifiant du secteur à supprimer.
      * @throws EntityNotFoundException si le secteur n'est pas trouvé.
      */
     @Override
     @Transactional
     public void delete(int id) {
-        if (!sectorDao.existsById(id)) {
-            throw new EntityNotFoundException(
-                    messageSource.getMessage("sector.notfound", new Object[]{id}, Locale.getDefault())
-            );
+        SectorDto existingSector = sectorDao.findDtoById(id)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        messageSource.getMessage("sector.notfound", new Object[]{id}, Locale.getDefault())
+                ));
+        classeDao.deleteAllBySectorId(id);
+        sectorDao.deleteInBulkById(id);
+        evictSector(id, existingSector.getName());
+        autocompleteService.sectorDeleted(id);
+    }
+
+    /**
+     * Évince du cache la liste des secteurs et les statistiques des classes ainsi que, s'ils sont fournis,
+     * le secteur d'identifiant {@code id} et celui de nom {@code name}.
+     * Les évictions sont différées jusqu'au commit de la transaction en cours.
+     *
+     * @param id   Identifiant du secteur modifié, ou {@code null}.
+     * @param name Nom du secteur modifié (avant modification), ou {@code null}.
+     */
+    private void evictSector(Integer id, String name) {
+        evict(CacheConfig.SECTORS, "all");
+        evict(CacheConfig.CLASSE_STATISTICS, "all");
+        if (id != null) {
+            evict(CacheConfig.SECTOR_BY_ID, id);
+        }
+        if (name != null) {
+            evict(CacheConfig.SECTOR_BY_NAME, name);
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
         }
-        sectorDao.deleteById(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+-- Schéma de référence des secteurs et des classes, tel que produit jusqu'ici par Hibernate.
+-- Les IF NOT EXISTS rendent ce script sans effet sur une base déjà créée par ddl-auto.
+
+CREATE SEQUENCE IF NOT EXISTS sectors_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS classes_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS sectors (
+    id         INTEGER      NOT NULL,
+    name       VARCHAR(100) NOT NULL,
+    version    BIGINT       DEFAULT 0 NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT pk_sectors PRIMARY KEY (id),
+    CONSTRAINT uk_sectors_name UNIQUE (name)
+);
+
+CREATE TABLE IF NOT EXISTS classes (
+    id          INTEGER      NOT NULL,
+    class_name  VARCHAR(150) NOT NULL,
+    description VARCHAR(200) NOT NULL,
+    sector_id   INTEGER      NOT NULL,
+    version     BIGINT       DEFAULT 0 NOT NULL,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT pk_classes PRIMARY KEY (id),
+    CONSTRAINT fk_classes_sector FOREIGN KEY (sector_id) REFERENCES sectors (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_classes_class_name_id ON classes (class_name, id);
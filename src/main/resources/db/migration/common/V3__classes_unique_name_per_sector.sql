@@ -0,0 +1,8 @@
+-- Un nom de classe est unique dans son secteur. L'index de la contrainte, de tête sector_id,
+-- sert aussi les recherches par secteur (findBySectorId) et la vérification de la clé étrangère
+-- à la suppression d'un secteur, que PostgreSQL n'indexe pas d'office.
+-- Les recherches et le tri par nom (findByClassName, allClassesOrderByClassName, pagination
+-- par curseur) sont servis par idx_classes_class_name_id (class_name, id), créé en V1.
+-- Échoue si des doublons existent déjà : les renommer avant de migrer.
+
+ALTER TABLE classes ADD CONSTRAINT uk_classes_sector_class_name UNIQUE (sector_id, class_name);
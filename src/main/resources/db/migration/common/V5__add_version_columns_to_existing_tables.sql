@@ -0,0 +1,10 @@
+-- Colonnes de version (verrouillage optimiste, validateurs HTTP) et de date de modification.
+-- V1 est sans effet sur une base créée par l'application d'origine (ddl-auto) : ses tables n'ont
+-- pas ces colonnes, qui sont ajoutées ici. Les IF NOT EXISTS laissent intacte une base qui les
+-- a déjà (créée par V1, ou mise à jour par ddl-auto=update).
+
+ALTER TABLE sectors ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE sectors ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) WITH TIME ZONE;
+
+ALTER TABLE classes ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE classes ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) WITH TIME ZONE;
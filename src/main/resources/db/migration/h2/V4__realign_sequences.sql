@@ -0,0 +1,6 @@
+-- Pendant de postgresql/V4 pour H2 : les séquences partent de 1 même sur des tables déjà remplies
+-- (identifiants attribués avant le passage aux séquences). Chaque séquence est placée au-delà
+-- du plus grand identifiant existant, en tenant compte du bloc de 50 réservé par l'optimiseur "pooled".
+
+ALTER SEQUENCE sectors_seq RESTART WITH (SELECT GREATEST(COALESCE(MAX(id), 0) + 50, NEXT VALUE FOR sectors_seq) FROM sectors);
+ALTER SEQUENCE classes_seq RESTART WITH (SELECT GREATEST(COALESCE(MAX(id), 0) + 50, NEXT VALUE FOR classes_seq) FROM classes);
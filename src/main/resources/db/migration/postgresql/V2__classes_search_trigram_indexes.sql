@@ -0,0 +1,7 @@
+-- Recherche par fragment du nom et de la description (ClasseDao.search) : index trigrammes GIN
+-- sur les expressions lower(...) utilisées par la requête, pour servir les LIKE '%fragment%'.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_classes_class_name_trgm ON classes USING gin (lower(class_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_classes_description_trgm ON classes USING gin (lower(description) gin_trgm_ops);
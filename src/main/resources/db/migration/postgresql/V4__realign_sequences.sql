@@ -0,0 +1,6 @@
+-- Les séquences créées par Hibernate partaient de 1 même sur des tables déjà remplies
+-- (identifiants attribués avant le passage aux séquences). Chaque séquence est placée au-delà
+-- du plus grand identifiant existant, en tenant compte du bloc de 50 réservé par l'optimiseur "pooled".
+
+SELECT setval('sectors_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM sectors) + 50, nextval('sectors_seq')));
+SELECT setval('classes_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM classes) + 50, nextval('classes_seq')));
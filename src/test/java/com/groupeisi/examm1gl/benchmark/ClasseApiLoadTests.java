@@ -0,0 +1,134 @@
+package com.groupeisi.examm1gl.benchmark;
+
+import com.groupeisi.examm1gl.dao.IClasseDao;
+import com.groupeisi.examm1gl.dao.ISectorDao;
+import com.groupeisi.examm1gl.entity.ClasseEntity;
+import com.groupeisi.examm1gl.entity.SectorEntity;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test de charge de {@code GET /classes/api/classes/{id}} avec 1000 clients simultanés.
+ * Désactivé par défaut ; à lancer dans chaque mode pour comparer latence p99 et débit :
+ * <pre>
+ * mvn test -Dbenchmark=true -Dtest=ClasseApiLoadTests
+ * mvn test -Dbenchmark=true -Dtest=ClasseApiLoadTests -Dspring.profiles.active=virtual
+ * </pre>
+ * Le mode "virtual" nécessite un JDK 21 ou supérieur.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ClasseApiLoadTests {
+
+    private static final int CLIENTS = 1000;
+    private static final int REQUESTS_PER_CLIENT = 20;
+    private static final int CLASSES = 100;
+
+    @LocalServerPort
+    private int port;
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private IClasseDao classeDao;
+    @Autowired
+    private ISectorDao sectorDao;
+
+    private final List<Integer> classeIds = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        SectorEntity sector = sectorDao.save(new SectorEntity(null, "Secteur charge", null, null, null));
+        for (int i = 0; i < CLASSES; i++) {
+            classeIds.add(classeDao.save(new ClasseEntity(null, "Classe " + i, "Description " + i, sector, null, null)).getId());
+        }
+    }
+
+    @AfterAll
+    void cleanUp() {
+        classeDao.deleteAllInBatch();
+        sectorDao.deleteAllInBatch();
+    }
+
+    @Test
+    void getClasseByIdUnderConcurrentLoad() throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(CLIENTS);
+
+        for (int c = 0; c < CLIENTS; c++) {
+            int clientIndex = c;
+            clients.execute(() -> {
+                try {
+                    start.await();
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        Integer id = classeIds.get((clientIndex + r) % CLASSES);
+                        HttpRequest request = HttpRequest.newBuilder(
+                                URI.create("http://localhost:" + port + "/classes/api/classes/" + id)).GET().build();
+                        long begin = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[next.getAndIncrement()] = System.nanoTime() - begin;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await(10, TimeUnit.MINUTES);
+        double elapsedSeconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+        clients.shutdownNow();
+
+        long[] sorted = Arrays.copyOf(latencies, next.get());
+        Arrays.sort(sorted);
+        System.out.printf("[benchmark] mode=%s clients=%d requêtes=%d erreurs=%d débit=%.0f req/s p50=%.1f ms p99=%.1f ms%n",
+                virtualThreads ? "virtual" : "platform", CLIENTS, sorted.length, errors.get(),
+                sorted.length / elapsedSeconds,
+                percentile(sorted, 0.50) / 1_000_000.0,
+                percentile(sorted, 0.99) / 1_000_000.0);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+    }
+}
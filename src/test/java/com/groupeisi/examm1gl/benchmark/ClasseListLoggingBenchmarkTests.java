@@ -0,0 +1,119 @@
+package com.groupeisi.examm1gl.benchmark;
+
+import com.groupeisi.examm1gl.dao.IClasseDao;
+import com.groupeisi.examm1gl.dao.ISectorDao;
+import com.groupeisi.examm1gl.entity.ClasseEntity;
+import com.groupeisi.examm1gl.entity.SectorEntity;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Débit de {@code GET /classes/api/classes} selon la configuration de journalisation.
+ * Désactivé par défaut ; à lancer avec chaque profil pour comparer :
+ * <pre>
+ * mvn test -Dbenchmark=true -Dtest=ClasseListLoggingBenchmarkTests -Dspring.profiles.active=dev
+ * mvn test -Dbenchmark=true -Dtest=ClasseListLoggingBenchmarkTests -Dspring.profiles.active=prod
+ * </pre>
+ * Le profil "dev" journalise chaque requête SQL formatée et ses paramètres ; le profil "prod"
+ * n'écrit que les requêtes lentes, en JSON et de façon asynchrone.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ClasseListLoggingBenchmarkTests {
+
+    private static final int CLIENTS = 16;
+    private static final int WARMUP_REQUESTS = 500;
+    private static final int REQUESTS = 5000;
+    private static final int CLASSES = 200;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private IClasseDao classeDao;
+    @Autowired
+    private ISectorDao sectorDao;
+    @Autowired
+    private Environment environment;
+
+    @BeforeAll
+    void seed() {
+        SectorEntity sector = sectorDao.save(new SectorEntity(null, "Secteur journalisation", null, null, null));
+        List<ClasseEntity> classes = new ArrayList<>();
+        for (int i = 0; i < CLASSES; i++) {
+            classes.add(new ClasseEntity(null, "Classe " + i, "Description " + i, sector, null, null));
+        }
+        classeDao.saveAll(classes);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        classeDao.deleteAllInBatch();
+        sectorDao.deleteAllInBatch();
+    }
+
+    @Test
+    void listClassesThroughput() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/classes/api/classes")).GET().build();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            run(clients, client, request, WARMUP_REQUESTS);
+            long begin = System.nanoTime();
+            int errors = run(clients, client, request, REQUESTS);
+            double elapsedSeconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+
+            System.out.printf("[benchmark] profils=%s clients=%d requêtes=%d erreurs=%d débit=%.0f req/s%n",
+                    String.join(",", environment.getActiveProfiles()), CLIENTS, REQUESTS, errors,
+                    REQUESTS / elapsedSeconds);
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private static int run(ExecutorService clients, HttpClient client, HttpRequest request, int requests)
+            throws Exception {
+        AtomicInteger remaining = new AtomicInteger(requests);
+        AtomicInteger errors = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            futures.add(clients.submit(() -> {
+                while (remaining.getAndDecrement() > 0) {
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return errors.get();
+    }
+}
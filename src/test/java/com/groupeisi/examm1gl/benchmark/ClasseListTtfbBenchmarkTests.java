@@ -0,0 +1,114 @@
+package com.groupeisi.examm1gl.benchmark;
+
+import com.groupeisi.examm1gl.config.ClasseListProperties;
+import com.groupeisi.examm1gl.dao.ClasseDao;
+import com.groupeisi.examm1gl.dao.IClasseDao;
+import com.groupeisi.examm1gl.dao.ISectorDao;
+import com.groupeisi.examm1gl.entity.ClasseEntity;
+import com.groupeisi.examm1gl.entity.SectorEntity;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Temps jusqu'au premier octet (TTFB) et durée totale de {@code GET /classes/liste} avec 50 000 classes.
+ * Désactivé par défaut ; à lancer dans chaque mode de rendu pour comparer :
+ * <pre>
+ * mvn test -Dbenchmark=true -Dtest=ClasseListTtfbBenchmarkTests -Dapp.classes.list.streaming=true
+ * mvn test -Dbenchmark=true -Dtest=ClasseListTtfbBenchmarkTests -Dapp.classes.list.streaming=false
+ * </pre>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ClasseListTtfbBenchmarkTests {
+
+    private static final int CLASSES = 50_000;
+    private static final int CHUNK = 1_000;
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ClasseDao classeCriteriaDao;
+    @Autowired
+    private IClasseDao classeDao;
+    @Autowired
+    private ISectorDao sectorDao;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ClasseListProperties listProperties;
+
+    @BeforeAll
+    void seed() {
+        SectorEntity sector = sectorDao.save(new SectorEntity(null, "Secteur TTFB", null, null, null));
+        for (int start = 0; start < CLASSES; start += CHUNK) {
+            int from = start;
+            transactionTemplate.executeWithoutResult(status -> {
+                SectorEntity reference = sectorDao.getReferenceById(sector.getId());
+                List<ClasseEntity> classes = new ArrayList<>(CHUNK);
+                for (int i = from; i < from + CHUNK; i++) {
+                    classes.add(new ClasseEntity(null, "Classe " + i, "Description de la classe " + i, reference, null, null));
+                }
+                classeCriteriaDao.insertAll(classes);
+            });
+        }
+    }
+
+    @AfterAll
+    void cleanUp() {
+        classeDao.deleteAllInBatch();
+        sectorDao.deleteAllInBatch();
+    }
+
+    @Test
+    void classListTimeToFirstByte() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/classes/liste")).GET().build();
+        long[] ttfb = new long[ITERATIONS];
+        long[] total = new long[ITERATIONS];
+        long bytes = 0;
+
+        for (int i = -WARMUP; i < ITERATIONS; i++) {
+            long begin = System.nanoTime();
+            HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            long firstByte;
+            long read;
+            try (InputStream body = response.body()) {
+                body.read();
+                firstByte = System.nanoTime() - begin;
+                read = 1 + body.transferTo(OutputStream.nullOutputStream());
+            }
+            if (i >= 0) {
+                ttfb[i] = firstByte;
+                total[i] = System.nanoTime() - begin;
+                bytes = read;
+            }
+        }
+
+        Arrays.sort(ttfb);
+        Arrays.sort(total);
+        System.out.printf("[benchmark] rendu=%s classes=%d octets=%d TTFB médian=%.1f ms durée totale médiane=%.1f ms%n",
+                listProperties.isStreaming() ? "progressif" : "tamponné", CLASSES, bytes,
+                ttfb[ITERATIONS / 2] / 1_000_000.0, total[ITERATIONS / 2] / 1_000_000.0);
+    }
+}
@@ -0,0 +1,61 @@
+package com.groupeisi.examm1gl.benchmark;
+
+import com.groupeisi.examm1gl.service.PrefixIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Empreinte mémoire par entrée et latence de recherche de l'index d'autocomplétion
+ * ({@link PrefixIndex}) avec 1 000 000 de noms de classes.
+ * Désactivé par défaut ; à lancer avec :
+ * {@code mvn test -Dbenchmark=true -Dtest=PrefixIndexMemoryBenchmarkTests}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PrefixIndexMemoryBenchmarkTests {
+
+    private static final int ENTRIES = 1_000_000;
+    private static final int LOOKUPS = 100_000;
+    private static final String[] WORDS = {"Génie logiciel", "Réseaux", "Gestion", "Mathématiques", "Comptabilité"};
+
+    @Test
+    void memoryPerEntryAndLookupLatency() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long before = usedHeap(memory);
+
+        PrefixIndex index = new PrefixIndex();
+        long nameChars = 0;
+        for (int i = 0; i < ENTRIES; i++) {
+            // Noms neufs, comme ceux lus en base : leur taille est comptée dans l'empreinte
+            String name = WORDS[i % WORDS.length] + " " + (i / WORDS.length);
+            nameChars += name.length();
+            index.put(i, name, i % 20);
+        }
+        long after = usedHeap(memory);
+
+        int found = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            found += index.find(WORDS[i % WORDS.length].substring(0, 3) + " ", 10).size()
+                    + index.find("genie logiciel " + (i % 1000), 10).size();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertThat(index.size()).isEqualTo(ENTRIES);
+        assertThat(found).isPositive();
+        System.out.printf("[benchmark] entrées=%d longueur moyenne du nom=%.1f octets/entrée=%d recherche=%.2f µs%n",
+                ENTRIES, (double) nameChars / ENTRIES, (after - before) / ENTRIES,
+                elapsed / 1_000.0 / (2.0 * LOOKUPS));
+    }
+
+    private static long usedHeap(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,107 @@
+package com.groupeisi.examm1gl.benchmark;
+
+import com.groupeisi.examm1gl.dao.IClasseDao;
+import com.groupeisi.examm1gl.dao.ISectorDao;
+import com.groupeisi.examm1gl.dto.ClasseDto;
+import com.groupeisi.examm1gl.entity.ClasseEntity;
+import com.groupeisi.examm1gl.entity.SectorEntity;
+import com.groupeisi.examm1gl.mapper.ClasseMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Micro-benchmark comparant la lecture de toutes les classes par projection DTO
+ * et par chargement d'entités suivi du mapper MapStruct.
+ * Désactivé par défaut ; à lancer avec :
+ * {@code mvn test -Dbenchmark=true -Dtest=ProjectionBenchmarkTests}
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ProjectionBenchmarkTests {
+
+    private static final int SECTORS = 20;
+    private static final int CLASSES_PER_SECTOR = 250;
+    private static final int WARMUP_ITERATIONS = 50;
+    private static final int MEASURED_ITERATIONS = 200;
+
+    @Autowired
+    private IClasseDao classeDao;
+    @Autowired
+    private ISectorDao sectorDao;
+    @Autowired
+    private ClasseMapper classeMapper;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeAll
+    void seed() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        for (int s = 0; s < SECTORS; s++) {
+            SectorEntity sector = sectorDao.save(new SectorEntity(null, "Secteur " + s, null, null, null));
+            List<ClasseEntity> classes = new ArrayList<>();
+            for (int c = 0; c < CLASSES_PER_SECTOR; c++) {
+                classes.add(new ClasseEntity(null, "Classe " + s + "-" + c, "Description de la classe " + c, sector, null, null));
+            }
+            classeDao.saveAll(classes);
+        }
+    }
+
+    @AfterAll
+    void cleanUp() {
+        classeDao.deleteAllInBatch();
+        sectorDao.deleteAllInBatch();
+    }
+
+    @Test
+    void compareProjectionWithEntityAndMapper() {
+        Supplier<List<ClasseDto>> projection = () -> readOnly.execute(status -> classeDao.findAllAsDto());
+        Supplier<List<ClasseDto>> entityAndMapper = () -> readOnly.execute(status ->
+                classeMapper.listClasseEntityToListClasseDto(classeDao.findAllWithSector()));
+
+        run(projection, WARMUP_ITERATIONS);
+        run(entityAndMapper, WARMUP_ITERATIONS);
+
+        report("projection DTO", projection);
+        report("entités + mapper", entityAndMapper);
+    }
+
+    private static void report(String label, Supplier<List<ClasseDto>> path) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        run(path, MEASURED_ITERATIONS);
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        System.out.printf("[benchmark] %-18s %8.1f ops/s  %10d octets alloués/op%n",
+                label,
+                MEASURED_ITERATIONS / (elapsed / 1_000_000_000.0),
+                allocated / MEASURED_ITERATIONS);
+    }
+
+    private static void run(Supplier<List<ClasseDto>> path, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            if (path.get().size() != SECTORS * CLASSES_PER_SECTOR) {
+                throw new IllegalStateException("Nombre de classes inattendu");
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.groupeisi.examm1gl.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.cache.TemplateCacheKey;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TemplateWarmupTests {
+
+    @Autowired
+    private TemplateEngine templateEngine;
+
+    @Test
+    void allTemplatesAreParsedAtStartup() {
+        assertThat(templateEngine.getCacheManager().getTemplateCache().keySet())
+                .extracting(TemplateCacheKey::getTemplate)
+                .contains("classe/liste", "classe/ajout", "sector/liste", "index", "error/404");
+    }
+}
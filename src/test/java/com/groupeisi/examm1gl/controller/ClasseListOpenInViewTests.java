@@ -0,0 +1,91 @@
+package com.groupeisi.examm1gl.controller;
+
+import com.groupeisi.examm1gl.dao.IClasseDao;
+import com.groupeisi.examm1gl.dao.ISectorDao;
+import com.groupeisi.examm1gl.dto.ClasseDto;
+import com.groupeisi.examm1gl.entity.ClasseEntity;
+import com.groupeisi.examm1gl.entity.SectorEntity;
+import com.groupeisi.examm1gl.service.IUClasseService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.open-in-view=true",
+        "app.classes.list.batch-size=2"
+})
+@AutoConfigureMockMvc
+class ClasseListOpenInViewTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private IUClasseService classeService;
+    @Autowired
+    private IClasseDao classeDao;
+    @Autowired
+    private ISectorDao sectorDao;
+    @Autowired
+    private OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor;
+    @Autowired
+    private HikariDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        SectorEntity sector = sectorDao.save(new SectorEntity(null, "Informatique", null, null, null));
+        for (int i = 0; i < 7; i++) {
+            classeDao.save(new ClasseEntity(null, "Classe " + i, "Description " + i, sector, null, null));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        classeDao.deleteAllInBatch();
+        sectorDao.deleteAllInBatch();
+    }
+
+    @Test
+    void batchesDoNotHoldAConnectionWhileTheRequestEntityManagerIsOpen() {
+        WebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+        openEntityManagerInViewInterceptor.preHandle(request);
+        try {
+            List<String> names = new ArrayList<>();
+            for (ClasseDto classe : classeService.iterateAll(2)) {
+                // Entre deux lots, comme pendant le rendu de la vue, aucune connexion n'est empruntée au pool
+                assertThat(dataSource.getHikariPoolMXBean().getActiveConnections()).isZero();
+                names.add(classe.getClassName());
+            }
+            assertThat(names).hasSize(7).isSorted();
+        } finally {
+            openEntityManagerInViewInterceptor.afterCompletion(request, null);
+        }
+    }
+
+    @Test
+    void listPageRendersAllBatchesWithOpenInView() throws Exception {
+        String html = mockMvc.perform(get("/classes/liste"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        for (int i = 0; i < 7; i++) {
+            assertThat(html).contains("Classe " + i);
+        }
+        assertThat(dataSource.getHikariPoolMXBean().getActiveConnections()).isZero();
+    }
+}
@@ -0,0 +1,208 @@
+package com.groupeisi.examm1gl.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groupeisi.examm1gl.config.ClasseWriteBehindProperties;
+import com.groupeisi.examm1gl.dao.IClasseDao;
+import com.groupeisi.examm1gl.dao.ISectorDao;
+import com.groupeisi.examm1gl.dto.ClasseDto;
+import com.groupeisi.examm1gl.dto.SectorDto;
+import com.groupeisi.examm1gl.exception.QueueFullException;
+import com.groupeisi.examm1gl.service.ClasseWriteBehindService;
+import com.groupeisi.examm1gl.service.IUClasseService;
+import com.groupeisi.examm1gl.service.IUSectorSrvice;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validator;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Un lot attend une seconde avant de partir : les créations d'un test tombent dans le même lot.
+@SpringBootTest(properties = {
+        "app.classes.write-behind.enabled=true",
+        "app.classes.write-behind.queue-capacity=3",
+        "app.classes.write-behind.batch-size=100",
+        "app.classes.write-behind.linger=1s",
+        "app.classes.write-behind.max-retained-statuses=4"
+})
+@AutoConfigureMockMvc
+class ClasseWriteBehindTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private IUSectorSrvice sectorService;
+    @Autowired
+    private IClasseDao classeDao;
+    @Autowired
+    private ISectorDao sectorDao;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private IUClasseService classeService;
+    @Autowired
+    private Validator validator;
+    @Autowired
+    private MessageSource messageSource;
+    @Autowired
+    private ClasseWriteBehindProperties properties;
+    @Autowired
+    private ClasseWriteBehindService writeBehindService;
+
+    private SectorDto sector;
+
+    @BeforeEach
+    void setUp() {
+        sector = sectorService.add(new SectorDto(null, "Informatique"));
+        sectorService.get(sector.getId());
+    }
+
+    @AfterEach
+    void cleanUp() throws InterruptedException {
+        // Les créations encore en file sont enregistrées avant le nettoyage
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (writeBehindService.getPendingCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        classeDao.deleteAllInBatch();
+        sectorDao.deleteAllInBatch();
+        entityManagerFactory.getCache().evictAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void acceptedCreationsAreSavedInOneTransactionAndAFullQueueAnswersTooManyRequests() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<String> trackingIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            trackingIds.add(trackingId(create("Classe " + i)
+                    .andExpect(status().isAccepted())
+                    .andExpect(jsonPath("$.status").value("PENDING"))
+                    .andExpect(header().exists(HttpHeaders.LOCATION))));
+        }
+        create("Classe de trop").andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+
+        List<JsonNode> statuses = new ArrayList<>();
+        for (String trackingId : trackingIds) {
+            statuses.add(awaitCompletion(trackingId));
+        }
+        // Une seule transaction pour les trois créations (la validation lit le secteur dans le cache)
+        assertThat(statistics.getTransactionCount()).isEqualTo(1);
+        for (JsonNode status : statuses) {
+            assertThat(status.get("status").asText()).isEqualTo("SAVED");
+            assertThat(classeDao.existsById(status.get("id").asInt())).isTrue();
+        }
+        assertThat(classeDao.count()).isEqualTo(3);
+
+        // La file s'est vidée : les créations sont de nouveau acceptées
+        create("Classe suivante").andExpect(status().isAccepted());
+    }
+
+    @Test
+    void invalidCreationsAreRejectedUpFrontAndDatabaseRefusalsAreReportedPerCreation() throws Exception {
+        create("").andExpect(status().isBadRequest());
+        mockMvc.perform(post("/classes/api/classes").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ClasseDto(null, "Orpheline", "Licence", -1, null))))
+                .andExpect(status().isBadRequest());
+
+        // Deux créations du même nom dans le même secteur : le lot est refusé puis rejoué une à une
+        String first = trackingId(create("Doublon").andExpect(status().isAccepted()));
+        String second = trackingId(create("Doublon").andExpect(status().isAccepted()));
+
+        assertThat(awaitCompletion(first).get("status").asText()).isEqualTo("SAVED");
+        JsonNode failed = awaitCompletion(second);
+        assertThat(failed.get("status").asText()).isEqualTo("FAILED");
+        assertThat(failed.get("message").asText()).isNotEmpty();
+        assertThat(classeDao.count()).isEqualTo(1);
+
+        mockMvc.perform(get("/classes/api/classes/writes/{trackingId}", "inconnu")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void oldestStatusesAreForgottenBeyondTheRetainedCount() throws Exception {
+        List<String> trackingIds = new ArrayList<>();
+        for (int wave = 0; wave < 2; wave++) {
+            List<String> waveIds = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                waveIds.add(trackingId(create("Classe " + wave + "-" + i).andExpect(status().isAccepted())));
+            }
+            for (String trackingId : waveIds) {
+                assertThat(awaitCompletion(trackingId).get("status").asText()).isEqualTo("SAVED");
+            }
+            trackingIds.addAll(waveIds);
+        }
+
+        // Six créations terminées pour quatre états conservés : les deux plus anciens sont oubliés
+        for (String trackingId : trackingIds.subList(0, 2)) {
+            mockMvc.perform(get("/classes/api/classes/writes/{trackingId}", trackingId)).andExpect(status().isNotFound());
+        }
+        mockMvc.perform(get("/classes/api/classes/writes/{trackingId}", trackingIds.get(5))).andExpect(status().isOk());
+    }
+
+    @Test
+    void stoppedServiceRejectsCreationsAndStopsAfterTheWebServer() {
+        ClasseWriteBehindService service = new ClasseWriteBehindService(classeService, sectorService, validator,
+                messageSource, properties);
+        service.start();
+        service.stop();
+
+        assertThatThrownBy(() -> service.enqueue(new ClasseDto(null, "Trop tard", "Licence", sector.getId(), null)))
+                .isInstanceOf(QueueFullException.class);
+        assertThat(service.getPendingCount()).isZero();
+        // Le serveur web s'arrête une phase de 1024 sous son arrêt progressif
+        assertThat(service.getPhase()).isLessThan(WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1024);
+    }
+
+    private ResultActions create(String className) throws Exception {
+        return mockMvc.perform(post("/classes/api/classes").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ClasseDto(null, className, "Licence", sector.getId(), null))));
+    }
+
+    private String trackingId(ResultActions result) throws Exception {
+        return objectMapper.readTree(result.andReturn().getResponse().getContentAsString()).get("trackingId").asText();
+    }
+
+    private JsonNode awaitCompletion(String trackingId) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            String body = mockMvc.perform(get("/classes/api/classes/writes/{trackingId}", trackingId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode status = objectMapper.readTree(body);
+            if (!"PENDING".equals(status.get("status").asText()) || System.currentTimeMillis() > deadline) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.groupeisi.examm1gl.controller;
+
+import com.groupeisi.examm1gl.dao.IClasseDao;
+import com.groupeisi.examm1gl.dao.ISectorDao;
+import com.groupeisi.examm1gl.dto.ClasseDto;
+import com.groupeisi.examm1gl.dto.SectorDto;
+import com.groupeisi.examm1gl.service.IUClasseService;
+import com.groupeisi.examm1gl.service.IUSectorSrvice;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CompressionTests {
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private IUClasseService classeService;
+    @Autowired
+    private IUSectorSrvice sectorService;
+    @Autowired
+    private IClasseDao classeDao;
+    @Autowired
+    private ISectorDao sectorDao;
+    @Autowired
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void cleanUp() {
+        classeDao.deleteAllInBatch();
+        sectorDao.deleteAllInBatch();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void classListIsGzippedDespiteItsETag() throws Exception {
+        SectorDto sector = sectorService.add(new SectorDto(null, "Informatique"));
+        for (int i = 0; i < 50; i++) {
+            classeService.save(new ClasseDto(null, "Classe " + i, "Description de la classe " + i, sector.getId(), null));
+        }
+
+        // Le client HTTP du JDK ne décompresse pas : l'en-tête Content-Encoding est celui envoyé par Tomcat
+        HttpResponse<byte[]> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/classes/api/classes"))
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue(HttpHeaders.ETAG)).hasValueSatisfying(eTag -> assertThat(eTag).startsWith("W/\""));
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+    }
+}
@@ -0,0 +1,103 @@
+package com.groupeisi.examm1gl.controller;
+
+import com.groupeisi.examm1gl.dao.IClasseDao;
+import com.groupeisi.examm1gl.dao.ISectorDao;
+import com.groupeisi.examm1gl.dto.ClasseDto;
+import com.groupeisi.examm1gl.dto.SectorDto;
+import com.groupeisi.examm1gl.service.IUClasseService;
+import com.groupeisi.examm1gl.service.IUSectorSrvice;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.flash;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConcurrentUpdateTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private IUClasseService classeService;
+    @Autowired
+    private IUSectorSrvice sectorService;
+    @Autowired
+    private IClasseDao classeDao;
+    @Autowired
+    private ISectorDao sectorDao;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SectorDto sector;
+    private ClasseDto classe;
+
+    @BeforeEach
+    void setUp() {
+        sector = sectorService.add(new SectorDto(null, "Informatique"));
+        classe = classeService.save(new ClasseDto(null, "L1 Info", "Licence 1", sector.getId(), null));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        classeDao.deleteAllInBatch();
+        sectorDao.deleteAllInBatch();
+        entityManagerFactory.getCache().evictAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void apiAnswersConflictWhenTheVersionIsStale() throws Exception {
+        String body = "{\"className\":\"L1 Informatique\",\"description\":\"Licence 1\",\"idSector\":%d,\"version\":%d}";
+
+        mockMvc.perform(put("/classes/api/classes/{id}", classe.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content(body.formatted(sector.getId(), classe.getVersion())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(classe.getVersion() + 1));
+        mockMvc.perform(put("/classes/api/classes/{id}", classe.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content(body.formatted(sector.getId(), classe.getVersion())))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value("CONFLICT"));
+
+        String sectorBody = "{\"name\":\"Génie logiciel\",\"version\":" + sector.getVersion() + "}";
+        mockMvc.perform(put("/sectors/api/sectors/{id}", sector.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content(sectorBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(sector.getVersion() + 1));
+        mockMvc.perform(put("/sectors/api/sectors/{id}", sector.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content(sectorBody))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void staleFormIsReopenedWithAnError() throws Exception {
+        classeService.update(new ClasseDto(classe.getId(), "L1 Informatique", "Licence 1", sector.getId(), null));
+
+        mockMvc.perform(post("/classes/modifie")
+                        .param("id", classe.getId().toString())
+                        .param("className", "L1 Info (formulaire périmé)")
+                        .param("description", "Licence 1")
+                        .param("idSector", sector.getId().toString())
+                        .param("version", classe.getVersion().toString()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/classes/modifie/" + classe.getId()))
+                .andExpect(flash().attributeExists("error"));
+
+        assertThat(classeService.get(classe.getId()).getClassName()).isEqualTo("L1 Informatique");
+    }
+}
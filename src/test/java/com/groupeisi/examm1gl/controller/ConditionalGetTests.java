@@ -0,0 +1,142 @@
+package com.groupeisi.examm1gl.controller;
+
+import com.groupeisi.examm1gl.dao.IClasseDao;
+import com.groupeisi.examm1gl.dao.ISectorDao;
+import com.groupeisi.examm1gl.dto.ClasseDto;
+import com.groupeisi.examm1gl.dto.SectorDto;
+import com.groupeisi.examm1gl.service.IUClasseService;
+import com.groupeisi.examm1gl.service.IUSectorSrvice;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static com.groupeisi.examm1gl.metrics.SqlStatements.assertStatementCount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private IUClasseService classeService;
+    @Autowired
+    private IUSectorSrvice sectorService;
+    @Autowired
+    private IClasseDao classeDao;
+    @Autowired
+    private ISectorDao sectorDao;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SectorDto sector;
+    private ClasseDto classe;
+
+    @BeforeEach
+    void setUp() {
+        sector = sectorService.add(new SectorDto(null, "Informatique"));
+        classe = classeService.save(new ClasseDto(null, "L1 Info", "Licence 1", sector.getId(), null));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        classeDao.deleteAllInBatch();
+        sectorDao.deleteAllInBatch();
+        entityManagerFactory.getCache().evictAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void listAnswersNotModifiedWithoutLoadingRows() throws Exception {
+        String eTag = eTagOf("/classes/api/classes");
+
+        // Deux requêtes d'agrégat (classes et secteurs), sans la requête de la liste
+        assertStatementCount(2, () -> mockMvc.perform(get("/classes/api/classes").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string("")));
+    }
+
+    @Test
+    void listValidatorChangesOnEveryWrite() throws Exception {
+        String initial = eTagOf("/classes/api/classes");
+
+        classeService.update(new ClasseDto(classe.getId(), "L1 Informatique", "Licence 1", sector.getId(), null));
+        String afterUpdate = eTagOf("/classes/api/classes");
+        assertThat(afterUpdate).isNotEqualTo(initial);
+
+        // Le nom du secteur figure dans la liste des classes
+        sectorService.update(new SectorDto(sector.getId(), "Génie logiciel"));
+        String afterSectorUpdate = eTagOf("/classes/api/classes");
+        assertThat(afterSectorUpdate).isNotEqualTo(afterUpdate);
+
+        classeService.delete(classe.getId());
+        assertThat(eTagOf("/classes/api/classes")).isNotEqualTo(afterSectorUpdate);
+    }
+
+    @Test
+    void listsAreValidatedByETagOnlySoDeletesAreNeverMissed() throws Exception {
+        mockMvc.perform(get("/classes/api/classes"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+        mockMvc.perform(get("/sectors/api/sectors"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+
+        // Une suppression ne fait pas avancer la date de dernière modification de la liste
+        classeService.delete(classe.getId());
+        long future = System.currentTimeMillis() + 3_600_000;
+        mockMvc.perform(get("/classes/api/classes").header(HttpHeaders.IF_MODIFIED_SINCE,
+                        DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(future).atZone(ZoneOffset.UTC))))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+    }
+
+    @Test
+    void detailEndpointsUseEntityVersion() throws Exception {
+        String classeETag = eTagOf("/classes/api/classes/" + classe.getId());
+        String sectorETag = eTagOf("/sectors/api/sectors/" + sector.getId());
+
+        mockMvc.perform(get("/classes/api/classes/{id}", classe.getId()).header(HttpHeaders.IF_NONE_MATCH, classeETag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/sectors/api/sectors/{id}", sector.getId()).header(HttpHeaders.IF_NONE_MATCH, sectorETag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/sectors/api/sectors").header(HttpHeaders.IF_NONE_MATCH, eTagOf("/sectors/api/sectors")))
+                .andExpect(status().isNotModified());
+
+        sectorService.update(new SectorDto(sector.getId(), "Génie logiciel"));
+
+        mockMvc.perform(get("/classes/api/classes/{id}", classe.getId()).header(HttpHeaders.IF_NONE_MATCH, classeETag))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+        mockMvc.perform(get("/sectors/api/sectors/{id}", sector.getId()).header(HttpHeaders.IF_NONE_MATCH, sectorETag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/classes/api/classes/{id}", -1)).andExpect(status().isNotFound());
+    }
+
+    private String eTagOf(String uri) throws Exception {
+        String eTag = mockMvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("W/\"");
+        return eTag;
+    }
+}
@@ -0,0 +1,190 @@
+package com.groupeisi.examm1gl.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groupeisi.examm1gl.config.IdempotencyProperties;
+import com.groupeisi.examm1gl.dao.IClasseDao;
+import com.groupeisi.examm1gl.dao.ISectorDao;
+import com.groupeisi.examm1gl.dto.ClasseDto;
+import com.groupeisi.examm1gl.dto.SectorDto;
+import com.groupeisi.examm1gl.service.IUSectorSrvice;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.groupeisi.examm1gl.metrics.SqlStatements.assertStatementCount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class IdempotencyTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private IUSectorSrvice sectorService;
+    @Autowired
+    private IClasseDao classeDao;
+    @Autowired
+    private ISectorDao sectorDao;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SectorDto sector;
+
+    @BeforeEach
+    void setUp() {
+        sector = sectorService.add(new SectorDto(null, "Informatique"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        classeDao.deleteAllInBatch();
+        sectorDao.deleteAllInBatch();
+        entityManagerFactory.getCache().evictAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void retryWithTheSameKeyReplaysTheFirstResponseWithoutTouchingTheDatabase() throws Exception {
+        String body = classeBody("L1 Info");
+        MockHttpServletResponse first = createClasse("cle-1", body).andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyStore.REPLAYED_HEADER))
+                .andReturn().getResponse();
+
+        assertStatementCount(0, () -> createClasse("cle-1", body)
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+                .andExpect(result -> assertThat(result.getResponse().getContentAsString())
+                        .isEqualTo(first.getContentAsString())));
+        assertThat(classeDao.count()).isEqualTo(1);
+
+        // Même clé, autre contenu : refusé ; autre clé : nouvelle création
+        createClasse("cle-1", classeBody("L2 Info")).andExpect(status().isConflict());
+        createClasse("cle-2", classeBody("L2 Info")).andExpect(status().isCreated());
+        // Les clés sont propres à chaque endpoint
+        mockMvc.perform(post("/sectors/api/sectors").header(IdempotencyStore.HEADER, "cle-1")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Gestion\"}"))
+                .andExpect(status().isCreated());
+        assertThat(classeDao.count()).isEqualTo(2);
+    }
+
+    @Test
+    void failedCreationDoesNotKeepTheKey() throws Exception {
+        String orphan = objectMapper.writeValueAsString(new ClasseDto(null, "Orpheline", "Description", -1, null));
+        createClasse("cle-echec", orphan).andExpect(status().isBadRequest());
+        createClasse("cle-echec", orphan).andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    void concurrentDuplicatesWaitForTheFirstResult() throws Exception {
+        String body = classeBody("L1 Info");
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<MockHttpServletResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return createClasse("cle-concurrente", body).andReturn().getResponse();
+                }));
+            }
+            start.countDown();
+
+            List<String> bodies = new ArrayList<>();
+            for (Future<MockHttpServletResponse> future : futures) {
+                MockHttpServletResponse response = future.get(30, TimeUnit.SECONDS);
+                assertThat(response.getStatus()).isEqualTo(201);
+                bodies.add(response.getContentAsString());
+            }
+            assertThat(bodies).containsOnly(bodies.get(0));
+            assertThat(classeDao.count()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void keysOfRequestsInProgressAreNeverEvicted() throws Exception {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setStripes(2);
+        properties.setMaxEntriesPerStripe(1);
+        IdempotencyStore store = new IdempotencyStore(properties);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ResponseEntity<String>> inProgress = executor.submit(() -> store.execute("test", "cle-longue", 1, () -> {
+                executions.incrementAndGet();
+                started.countDown();
+                await(release);
+                return ResponseEntity.ok("longue");
+            }));
+            started.await();
+
+            // Les segments débordent pendant que la première requête est en cours
+            for (int i = 0; i < 10; i++) {
+                String body = "cle-" + i;
+                store.execute("test", body, i, () -> ResponseEntity.ok(body));
+            }
+            release.countDown();
+            assertThat(inProgress.get(30, TimeUnit.SECONDS).getBody()).isEqualTo("longue");
+
+            ResponseEntity<String> retry = store.execute("test", "cle-longue", 1, () -> {
+                executions.incrementAndGet();
+                return ResponseEntity.ok("relancée");
+            });
+            assertThat(retry.getBody()).isEqualTo("longue");
+            assertThat(executions).hasValue(1);
+            // Les clés terminées restent bornées : au plus une par segment (deux), plus celle qui était en cours
+            assertThat(store.size()).isLessThanOrEqualTo(3);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ResultActions createClasse(String key, String body) throws Exception {
+        return mockMvc.perform(post("/classes/api/classes").header(IdempotencyStore.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON).content(body));
+    }
+
+    private String classeBody(String className) throws Exception {
+        return objectMapper.writeValueAsString(new ClasseDto(null, className, "Licence", sector.getId(), null));
+    }
+}
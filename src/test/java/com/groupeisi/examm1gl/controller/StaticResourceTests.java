@@ -0,0 +1,60 @@
+package com.groupeisi.examm1gl.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class StaticResourceTests {
+
+    private static final Pattern VERSIONED_CSS = Pattern.compile("/css/style-[0-9a-f]{32}\\.css");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void pagesLinkContentHashedAssetsCachedAsImmutable() throws Exception {
+        String html = mockMvc.perform(get("/classes/liste"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        Matcher matcher = VERSIONED_CSS.matcher(html);
+        assertThat(matcher.find()).as("URL versionnée de style.css").isTrue();
+
+        mockMvc.perform(get(matcher.group()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"));
+    }
+
+    @Test
+    void unversionedAssetsAreRevalidated() throws Exception {
+        mockMvc.perform(get("/css/style.css"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+        mockMvc.perform(get("/js/sector.js"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+    }
+
+    @Test
+    void precompressedAssetIsServedToGzipClients() throws Exception {
+        // sector.js.gz est produit par l'étape de build "precompress-static-assets"
+        mockMvc.perform(get("/js/sector.js").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept-Encoding"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.groupeisi.examm1gl.dao;
+
+import com.groupeisi.examm1gl.ExamM1GlApplication;
+import com.groupeisi.examm1gl.dto.ClasseDto;
+import com.groupeisi.examm1gl.exception.EntityNotFoundException;
+import com.groupeisi.examm1gl.service.IUClasseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Démarre l'application sur une base au schéma de l'application d'origine (créé par Hibernate
+ * en ddl-auto, identifiants IDENTITY, contraintes aux noms générés, sans colonnes de version)
+ * et déjà remplie : les migrations Flyway doivent l'amener au schéma validé par Hibernate.
+ */
+class BaselineSchemaMigrationTests {
+
+    private static final String URL = "jdbc:h2:mem:baseline-schema-db";
+
+    private static final String[] BASELINE_SCHEMA = {
+            "create table sectors (id integer generated by default as identity, name varchar(100) not null, "
+                    + "primary key (id), constraint UK_b2oqhq7ry3tnh1pya9kpsd8dj unique (name))",
+            "create table classes (id integer generated by default as identity, class_name varchar(150) not null, "
+                    + "description varchar(200) not null, sector_id integer not null, primary key (id))",
+            "alter table if exists classes add constraint FKqx4kfvhu2a1wwmb9t2nutsyxb "
+                    + "foreign key (sector_id) references sectors",
+            "insert into sectors (name) values ('Informatique')",
+            "insert into classes (class_name, description, sector_id) values ('L1 Info', 'Licence 1', 1)",
+            "insert into classes (class_name, description, sector_id) values ('L2 Info', 'Licence 2', 1)"
+    };
+
+    @Test
+    void migrationsBringABaselineDatabaseUpToTheEntityMapping() throws Exception {
+        // La connexion ouverte garde la base en mémoire pendant tout le test
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            for (String sql : BASELINE_SCHEMA) {
+                statement.execute(sql);
+            }
+
+            // Sans cache de second niveau : le gestionnaire JCache est partagé avec les contextes
+            // des autres tests, et la fermeture de ce contexte le fermerait.
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ExamM1GlApplication.class)
+                    .run("--spring.datasource.url=" + URL, "--spring.main.web-application-type=none",
+                            "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                            "--spring.jpa.properties.hibernate.cache.use_query_cache=false")) {
+                IUClasseService classeService = context.getBean(IUClasseService.class);
+
+                ClasseDto existing = classeService.get(1);
+                assertThat(existing.getClassName()).isEqualTo("L1 Info");
+                assertThat(existing.getVersion()).isZero();
+
+                // Les séquences ont été placées après les identifiants IDENTITY existants
+                ClasseDto saved = classeService.save(new ClasseDto(null, "L3 Info", "Licence 3", 1, null));
+                assertThat(saved.getId()).isGreaterThan(2);
+                assertThat(classeService.getAll()).hasSize(3);
+
+                // La clé étrangère garde le nom généré par Hibernate : sa violation est reconnue sans lui
+                assertThatThrownBy(() -> classeService.save(new ClasseDto(null, "Orpheline", "Licence", -1, null)))
+                        .isInstanceOf(EntityNotFoundException.class);
+                assertThatThrownBy(() -> classeService.update(new ClasseDto(saved.getId(), "L3 Info", "Licence 3", -1, null)))
+                        .isInstanceOf(EntityNotFoundException.class);
+            }
+        }
+    }
+}
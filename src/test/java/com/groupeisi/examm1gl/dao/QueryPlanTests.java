@@ -0,0 +1,77 @@
+package com.groupeisi.examm1gl.dao;
+
+import com.groupeisi.examm1gl.entity.ClasseEntity;
+import com.groupeisi.examm1gl.entity.SectorEntity;
+import com.groupeisi.examm1gl.metrics.SqlStatements;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie, par EXPLAIN sur les requêtes SQL réellement générées par les DAO, que les index
+ * créés par les migrations sont utilisés.
+ */
+@SpringBootTest
+class QueryPlanTests {
+
+    @Autowired
+    private IClasseDao classeDao;
+    @Autowired
+    private ClasseDao classeCriteriaDao;
+    @Autowired
+    private ISectorDao sectorDao;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Integer sectorId;
+
+    @BeforeEach
+    void setUp() {
+        SectorEntity sector = sectorDao.save(new SectorEntity(null, "Secteur plan", null, null, null));
+        classeDao.save(new ClasseEntity(null, "Classe plan", "Description", sector, null, null));
+        sectorId = sector.getId();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        classeDao.deleteAllInBatch();
+        sectorDao.deleteAllInBatch();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void findBySectorIdUsesTheSectorIndex() throws Exception {
+        String sql = SqlStatements.capture(() -> classeDao.findBySectorId(sectorId)).getLastSql();
+
+        // Sous H2, la clé étrangère a aussi son propre index : seul compte l'accès par index sur sector_id
+        assertThat(explain(sql, sectorId)).doesNotContainIgnoringCase("tableScan")
+                .containsPattern("(?i)/\\* [^*]+: sector_id = ");
+    }
+
+    @Test
+    void findByClassNameUsesTheClassNameIndex() throws Exception {
+        String sql = SqlStatements.capture(() -> classeCriteriaDao.findByClassName("Classe plan")).getLastSql();
+
+        assertThat(explain(sql, "Classe plan")).containsIgnoringCase("idx_classes_class_name_id");
+    }
+
+    @Test
+    void orderedListingReadsTheClassNameIndexWithoutSorting() throws Exception {
+        String sql = SqlStatements.capture(() -> classeCriteriaDao.allClassesOrderByClassName()).getLastSql();
+
+        assertThat(explain(sql)).containsIgnoringCase("idx_classes_class_name_id")
+                .containsIgnoringCase("index sorted");
+    }
+
+    private String explain(String sql, Object... parameters) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+    }
+}
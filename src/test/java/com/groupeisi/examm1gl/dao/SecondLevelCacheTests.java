@@ -0,0 +1,91 @@
+package com.groupeisi.examm1gl.dao;
+
+import com.groupeisi.examm1gl.entity.ClasseEntity;
+import com.groupeisi.examm1gl.entity.SectorEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SecondLevelCacheTests {
+
+    @Autowired
+    private IClasseDao classeDao;
+    @Autowired
+    private ISectorDao sectorDao;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Statistics statistics;
+    private Integer sectorId;
+    private Integer classeId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        SectorEntity sector = sectorDao.save(new SectorEntity(null, "Réseaux", null, null, null));
+        classeId = classeDao.save(new ClasseEntity(null, "L3 Réseaux", "Licence 3", sector, null, null)).getId();
+        sectorId = sector.getId();
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        classeDao.deleteAllInBatch();
+        sectorDao.deleteAllInBatch();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void repeatedFindByIdIsServedFromSecondLevelCache() {
+        transaction.executeWithoutResult(status -> sectorDao.findById(sectorId).orElseThrow());
+        transaction.executeWithoutResult(status -> classeDao.findById(classeId).orElseThrow());
+        long statementsAfterFirstLookup = statistics.getPrepareStatementCount();
+
+        transaction.executeWithoutResult(status -> sectorDao.findById(sectorId).orElseThrow());
+        transaction.executeWithoutResult(status -> classeDao.findById(classeId).orElseThrow());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirstLookup);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void repeatedFindByNameIsServedFromQueryCache() {
+        transaction.executeWithoutResult(status -> sectorDao.findByName("Réseaux").orElseThrow());
+        transaction.executeWithoutResult(status -> classeDao.findByClassName("L3 Réseaux").orElseThrow());
+        long statementsAfterFirstLookup = statistics.getPrepareStatementCount();
+
+        transaction.executeWithoutResult(status -> sectorDao.findByName("Réseaux").orElseThrow());
+        transaction.executeWithoutResult(status -> classeDao.findByClassName("L3 Réseaux").orElseThrow());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirstLookup);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void sectorClassesCollectionIsServedFromSecondLevelCache() {
+        transaction.executeWithoutResult(status ->
+                assertThat(sectorDao.findById(sectorId).orElseThrow().getClasses()).hasSize(1));
+        long statementsAfterFirstLookup = statistics.getPrepareStatementCount();
+
+        transaction.executeWithoutResult(status ->
+                assertThat(sectorDao.findById(sectorId).orElseThrow().getClasses()).hasSize(1));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirstLookup);
+    }
+}
@@ -0,0 +1,64 @@
+package com.groupeisi.examm1gl.metrics;
+
+import com.groupeisi.examm1gl.dao.IClasseDao;
+import com.groupeisi.examm1gl.dao.ISectorDao;
+import com.groupeisi.examm1gl.entity.SectorEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private IClasseDao classeDao;
+    @Autowired
+    private ISectorDao sectorDao;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void cleanUp() {
+        classeDao.deleteAllInBatch();
+        sectorDao.deleteAllInBatch();
+        entityManagerFactory.getCache().evictAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void prometheusEndpointExposesApplicationMetrics() throws Exception {
+        SectorEntity sector = sectorDao.save(new SectorEntity(null, "Informatique", null, null, null));
+        mockMvc.perform(get("/sectors/api/sectors/{id}", sector.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/classes/api/classes")).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket")
+                .contains("http_server_requests_sql_statements_count{method=\"GET\",uri=\"/sectors/api/sectors/{id}\"")
+                .contains("app_service_seconds_count{")
+                .contains("method=\"get\"")
+                .contains("spring_data_repository_invocations_seconds_count{")
+                .contains("hikaricp_connections_active{")
+                .contains("hibernate_statements_total{")
+                .contains("hibernate_entities_loads_total{");
+    }
+}
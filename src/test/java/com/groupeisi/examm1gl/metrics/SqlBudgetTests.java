@@ -0,0 +1,70 @@
+package com.groupeisi.examm1gl.metrics;
+
+import com.groupeisi.examm1gl.dao.IClasseDao;
+import com.groupeisi.examm1gl.dao.ISectorDao;
+import com.groupeisi.examm1gl.entity.SectorEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.groupeisi.examm1gl.metrics.SqlStatements.assertStatementCount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.sql.budget.max-statements=0",
+        "app.sql.budget.slow-query-threshold=0ms",
+        "app.sql.budget.endpoints[/sectors/api/sectors/{id}].max-statements=2"
+})
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+class SqlBudgetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private IClasseDao classeDao;
+    @Autowired
+    private ISectorDao sectorDao;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void cleanUp() {
+        classeDao.deleteAllInBatch();
+        sectorDao.deleteAllInBatch();
+        entityManagerFactory.getCache().evictAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void requestOverBudgetLogsStructuredWarning(CapturedOutput output) throws Exception {
+        // Validateurs ETag des classes et des secteurs, puis la liste
+        assertStatementCount(3, () -> mockMvc.perform(get("/classes/api/classes")).andExpect(status().isOk()));
+
+        assertThat(output.getOut())
+                .contains("event=sql_budget_exceeded method=GET uri=/classes/api/classes statements=3 max_statements=0")
+                .contains("event=slow_query");
+    }
+
+    @Test
+    void endpointBudgetOverridesDefault(CapturedOutput output) throws Exception {
+        SectorEntity sector = sectorDao.save(new SectorEntity(null, "Informatique", null, null, null));
+
+        assertStatementCount(2, () -> mockMvc.perform(get("/sectors/api/sectors/{id}", sector.getId()))
+                .andExpect(status().isOk()));
+
+        assertThat(output.getOut()).doesNotContain("event=sql_budget_exceeded");
+    }
+}
@@ -0,0 +1,48 @@
+package com.groupeisi.examm1gl.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Outils de test pour compter les requêtes SQL exécutées par un bloc de code,
+ * y compris à travers MockMvc (le suivi du filtre est reporté sur celui du test).
+ */
+public final class SqlStatements {
+
+    private SqlStatements() {
+    }
+
+    /**
+     * Action testée, pouvant lever une exception.
+     */
+    @FunctionalInterface
+    public interface SqlAction {
+        void run() throws Exception;
+    }
+
+    /**
+     * Exécute l'action et retourne les compteurs SQL correspondants.
+     */
+    public static RequestSqlStatistics capture(SqlAction action) throws Exception {
+        RequestSqlStatistics statistics = RequestSqlStatistics.begin();
+        try {
+            action.run();
+        } finally {
+            RequestSqlStatistics.end();
+        }
+        return statistics;
+    }
+
+    /**
+     * Vérifie que l'action exécute exactement le nombre de requêtes SQL attendu.
+     */
+    public static void assertStatementCount(int expected, SqlAction action) throws Exception {
+        assertThat(capture(action).getStatementCount()).as("requêtes SQL exécutées").isEqualTo(expected);
+    }
+
+    /**
+     * Vérifie que l'action n'exécute pas plus de requêtes SQL que le maximum donné.
+     */
+    public static void assertStatementCountAtMost(int max, SqlAction action) throws Exception {
+        assertThat(capture(action).getStatementCount()).as("requêtes SQL exécutées").isLessThanOrEqualTo(max);
+    }
+}
@@ -0,0 +1,149 @@
+package com.groupeisi.examm1gl.service;
+
+import com.groupeisi.examm1gl.dao.ClasseDao;
+import com.groupeisi.examm1gl.dao.IClasseDao;
+import com.groupeisi.examm1gl.dao.ISectorDao;
+import com.groupeisi.examm1gl.dto.AutocompleteDto;
+import com.groupeisi.examm1gl.dto.ClasseDto;
+import com.groupeisi.examm1gl.dto.SectorDto;
+import com.groupeisi.examm1gl.dto.SuggestionDto;
+import com.groupeisi.examm1gl.entity.ClasseEntity;
+import com.groupeisi.examm1gl.entity.SectorEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class AutocompleteServiceTests {
+
+    @Autowired
+    private IUAutocompleteService autocompleteService;
+    @Autowired
+    private IUClasseService classeService;
+    @Autowired
+    private IUSectorSrvice sectorService;
+    @Autowired
+    private IClasseDao classeDao;
+    @Autowired
+    private ISectorDao sectorDao;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private CacheManager cacheManager;
+
+    private SectorEntity informatique;
+
+    @BeforeEach
+    void setUp() {
+        informatique = sectorDao.save(new SectorEntity(null, "Informatique", null, null, null));
+        SectorEntity gestion = sectorDao.save(new SectorEntity(null, "Gestion", null, null, null));
+        classeDao.save(new ClasseEntity(null, "Génie logiciel", "L3", informatique, null, null));
+        classeDao.save(new ClasseEntity(null, "Génie civil", "L2", gestion, null, null));
+        classeDao.save(new ClasseEntity(null, "Gestion de projet", "M1", gestion, null, null));
+        autocompleteService.reload();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        classeDao.deleteAllInBatch();
+        sectorDao.deleteAllInBatch();
+        entityManagerFactory.getCache().evictAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        autocompleteService.reload();
+    }
+
+    @Test
+    void suggestMatchesPrefixIgnoringCaseAndAccentsWithoutQueryingTheDatabase() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        AutocompleteDto genie = autocompleteService.suggest("GENIE ", null);
+        assertThat(genie.getClasses()).extracting(SuggestionDto::getName).containsExactly("Génie civil", "Génie logiciel");
+        assertThat(genie.getSectors()).isEmpty();
+
+        AutocompleteDto ges = autocompleteService.suggest("ges", 1);
+        assertThat(ges.getClasses()).extracting(SuggestionDto::getName).containsExactly("Gestion de projet");
+        assertThat(ges.getSectors()).extracting(SuggestionDto::getName).containsExactly("Gestion");
+
+        assertThat(autocompleteService.suggest("", null).getClasses()).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void writesThroughServicesUpdateTheIndexOnCommit() {
+        ClasseDto saved = classeService.save(new ClasseDto(null, "Réseaux", "M2", informatique.getId(), null));
+        assertThat(names("res")).containsExactly("Réseaux");
+
+        classeService.update(new ClasseDto(saved.getId(), "Sécurité des réseaux", "M2", informatique.getId(), null));
+        assertThat(names("res")).isEmpty();
+        assertThat(names("secu")).containsExactly("Sécurité des réseaux");
+
+        classeService.delete(saved.getId());
+        assertThat(names("secu")).isEmpty();
+
+        // Une écriture annulée ne laisse aucune trace dans l'index
+        transactionTemplate.executeWithoutResult(status -> {
+            classeService.save(new ClasseDto(null, "Annulée", "M2", informatique.getId(), null));
+            status.setRollbackOnly();
+        });
+        assertThat(names("annul")).isEmpty();
+
+        SectorDto sector = sectorService.add(new SectorDto(null, "Santé"));
+        assertThat(autocompleteService.suggest("sante", null).getSectors()).extracting(SuggestionDto::getId)
+                .containsExactly(sector.getId());
+
+        sectorService.delete(informatique.getId());
+        assertThat(autocompleteService.suggest("info", null).getSectors()).isEmpty();
+        assertThat(names("genie")).containsExactly("Génie civil");
+    }
+
+    @Test
+    void updatesCommittedDuringReloadAreReplayedOnTheNewIndex() {
+        Integer civilId = classeDao.findByClassName("Génie civil").orElseThrow().getId();
+        AtomicReference<AutocompleteService> service = new AtomicReference<>();
+        AtomicBoolean firstPage = new AtomicBoolean(true);
+        ClasseDao dao = new ClasseDao(entityManager, entityManagerFactory) {
+            @Override
+            public List<ClasseDto> findDtoPageOrderByClassName(String afterClassName, Integer afterId, int limit) {
+                List<ClasseDto> page = super.findDtoPageOrderByClassName(afterClassName, afterId, limit);
+                if (firstPage.getAndSet(false)) {
+                    // Écritures validées par d'autres requêtes après la lecture de la page
+                    CompletableFuture.runAsync(() -> {
+                        service.get().classeDeleted(civilId);
+                        service.get().classeSaved(-1, "Génie maritime", informatique.getId());
+                    }).join();
+                }
+                return page;
+            }
+        };
+        service.set(new AutocompleteService(dao, sectorDao, transactionTemplate));
+
+        service.get().reload();
+
+        assertThat(service.get().suggest("genie", null).getClasses()).extracting(SuggestionDto::getName)
+                .containsExactly("Génie logiciel", "Génie maritime");
+    }
+
+    private List<String> names(String prefix) {
+        return autocompleteService.suggest(prefix, null).getClasses().stream().map(SuggestionDto::getName).toList();
+    }
+}
@@ -0,0 +1,365 @@
+package com.groupeisi.examm1gl.service;
+
+import com.groupeisi.examm1gl.dao.IClasseDao;
+import com.groupeisi.examm1gl.dao.ISectorDao;
+import com.groupeisi.examm1gl.dto.ClasseBulkResultDto;
+import com.groupeisi.examm1gl.dto.ClasseDto;
+import com.groupeisi.examm1gl.dto.ClasseImportResultDto;
+import com.groupeisi.examm1gl.dto.ClassePageDto;
+import com.groupeisi.examm1gl.dto.ClasseSearchPageDto;
+import com.groupeisi.examm1gl.dto.ClasseStatisticsDto;
+import com.groupeisi.examm1gl.dto.ExportFormat;
+import com.groupeisi.examm1gl.entity.ClasseEntity;
+import com.groupeisi.examm1gl.entity.SectorEntity;
+import com.groupeisi.examm1gl.exception.ConcurrentUpdateException;
+import com.groupeisi.examm1gl.exception.EntityNotFoundException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ClasseServiceTests {
+
+    @Autowired
+    private IUClasseService classeService;
+    @Autowired
+    private IClasseDao classeDao;
+    @Autowired
+    private ISectorDao sectorDao;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int s = 0; s < 5; s++) {
+            SectorEntity sector = sectorDao.save(new SectorEntity(null, "Secteur " + s, null, null, null));
+            for (int c = 0; c < 4; c++) {
+                classeDao.save(new ClasseEntity(null, "Classe " + s + "-" + c, "Description " + c, sector, null, null));
+            }
+        }
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        classeDao.deleteAllInBatch();
+        sectorDao.deleteAllInBatch();
+        entityManagerFactory.getCache().evictAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void getAllLoadsClassesAndSectorsInOneStatement() {
+        List<ClasseDto> classes = classeService.getAll();
+
+        assertThat(classes).hasSize(20);
+        assertThat(classes).allSatisfy(c -> assertThat(c.getSectorName()).startsWith("Secteur "));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getPageWalksAllClassesInOrderWithCursor() {
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        do {
+            ClassePageDto page = classeService.getPage(cursor, 6, null, null);
+            assertThat(page.getContent()).hasSizeLessThanOrEqualTo(6);
+            page.getContent().forEach(c -> names.add(c.getClassName()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(names).hasSize(20).isSorted();
+    }
+
+    @Test
+    void iterateAllLoadsBatchesOnDemand() {
+        BatchIterable<ClasseDto> classes = classeService.iterateAll(6);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        assertThat(classes.isEmpty()).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        List<String> names = new ArrayList<>();
+        classes.forEach(c -> names.add(c.getClassName()));
+
+        assertThat(names).hasSize(20).isSorted();
+        // Lots de 6, 6, 6 puis 2 : le premier lot, déjà chargé, est réutilisé
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    @Test
+    void getPageAppliesFiltersAndCapsSize() {
+        Integer sectorId = sectorDao.findByName("Secteur 2").orElseThrow().getId();
+
+        ClassePageDto bySector = classeService.getPage(null, 1000, sectorId, null);
+        assertThat(bySector.getSize()).isEqualTo(ClasseService.MAX_PAGE_SIZE);
+        assertThat(bySector.getContent()).hasSize(4).allSatisfy(c -> assertThat(c.getIdSector()).isEqualTo(sectorId));
+        assertThat(bySector.getNextCursor()).isNull();
+
+        ClassePageDto byPrefix = classeService.getPage(null, null, null, "Classe 3-");
+        assertThat(byPrefix.getContent()).extracting(ClasseDto::getClassName)
+                .containsExactly("Classe 3-0", "Classe 3-1", "Classe 3-2", "Classe 3-3");
+    }
+
+    @Test
+    void searchRanksNameMatchesBeforeDescriptionMatchesAndPaginates() {
+        SectorEntity sector = sectorDao.findByName("Secteur 0").orElseThrow();
+        classeDao.save(new ClasseEntity(null, "Génie logiciel", "Licence 3", sector, null, null));
+        classeDao.save(new ClasseEntity(null, "Atelier", "Qualité LOGICIELLE", sector, null, null));
+        classeDao.save(new ClasseEntity(null, "Logiciel libre", "Master 1", sector, null, null));
+        classeDao.save(new ClasseEntity(null, "Logiciel", "Master 2", sector, null, null));
+        statistics.clear();
+
+        ClasseSearchPageDto first = classeService.search("  LOGICIEL ", 0, 3);
+        assertThat(first.getContent()).extracting(ClasseDto::getClassName)
+                .containsExactly("Logiciel", "Logiciel libre", "Génie logiciel");
+        assertThat(first.getContent()).allSatisfy(c -> assertThat(c.getSectorName()).isEqualTo("Secteur 0"));
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        ClasseSearchPageDto second = classeService.search("logiciel", 1, 3);
+        assertThat(second.getContent()).extracting(ClasseDto::getClassName).containsExactly("Atelier");
+        assertThat(second.isHasNext()).isFalse();
+
+        // Les caractères spéciaux de LIKE sont comparés littéralement
+        assertThat(classeService.search("_-_", null, null).getContent()).isEmpty();
+        assertThatThrownBy(() -> classeService.search("lo", null, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> classeService.search("logiciel", -1, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> classeService.search("logiciel", Integer.MAX_VALUE, 50)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void saveAndUpdateAttachSectorWithoutSelectingIt() {
+        SectorEntity sector = sectorDao.findByName("Secteur 1").orElseThrow();
+        // Premier accès : le secteur entre dans le cache de second niveau
+        classeService.get(classeDao.findBySectorId(sector.getId()).get(0).getId());
+        sectorDao.findById(sector.getId());
+        statistics.clear();
+
+        ClasseDto saved = classeService.save(new ClasseDto(null, "Nouvelle", "Description", sector.getId(), null));
+        assertThat(saved.getSectorName()).isEqualTo("Secteur 1");
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        statistics.clear();
+        ClasseDto updated = classeService.update(new ClasseDto(saved.getId(), "Renommée", "Autre", sector.getId(), null));
+        assertThat(updated.getSectorName()).isEqualTo("Secteur 1");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(classeService.get(saved.getId()).getClassName()).isEqualTo("Renommée");
+    }
+
+    @Test
+    void updateReplacesOnlyItsOwnSecondLevelCacheEntry() {
+        Integer sectorId = sectorDao.findByName("Secteur 0").orElseThrow().getId();
+        List<ClasseEntity> classes = classeDao.findBySectorId(sectorId);
+        Integer updatedId = classes.get(0).getId();
+        Integer otherId = classes.get(1).getId();
+        classeDao.findById(updatedId);
+        classeDao.findById(otherId);
+
+        ClasseDto updated = classeService.update(new ClasseDto(updatedId, "Renommée", "Autre", sectorId, null));
+        statistics.clear();
+
+        assertThat(classeDao.findById(otherId)).isPresent();
+        assertThat(classeDao.findById(updatedId).orElseThrow().getVersion()).isEqualTo(updated.getVersion());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void deleteRemovesOnlyItsOwnSecondLevelCacheEntries() {
+        Integer sectorId = sectorDao.findByName("Secteur 0").orElseThrow().getId();
+        List<ClasseEntity> classes = classeDao.findBySectorId(sectorId);
+        Integer deletedId = classes.get(0).getId();
+        Integer otherId = classes.get(1).getId();
+        classeDao.findById(deletedId);
+        classeDao.findById(otherId);
+        transactionTemplate.executeWithoutResult(status ->
+                assertThat(sectorDao.findById(sectorId).orElseThrow().getClasses()).hasSize(4));
+
+        classeService.delete(deletedId);
+        statistics.clear();
+
+        assertThat(classeDao.findById(otherId)).isPresent();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        // La collection de classes du secteur a été retirée du cache et est relue sans la classe supprimée
+        transactionTemplate.executeWithoutResult(status ->
+                assertThat(sectorDao.findById(sectorId).orElseThrow().getClasses())
+                        .hasSize(3).extracting(ClasseEntity::getId).doesNotContain(deletedId));
+        assertThatThrownBy(() -> classeService.delete(deletedId)).isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void saveWithUnknownSectorThrowsEntityNotFound() {
+        assertThatThrownBy(() -> classeService.save(new ClasseDto(null, "Orpheline", "Description", -1, null)))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void updateOfUnknownClasseOrSectorThrowsEntityNotFound() {
+        Integer sectorId = sectorDao.findByName("Secteur 0").orElseThrow().getId();
+        Integer classeId = classeDao.findBySectorId(sectorId).get(0).getId();
+
+        assertThatThrownBy(() -> classeService.update(new ClasseDto(-1, "Inconnue", "Description", sectorId, null)))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> classeService.update(new ClasseDto(classeId, "Classe", "Description", -1, null)))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void concurrentUpdatesOfTheSameVersionLetExactlyOneWriterWin() throws Exception {
+        Integer sectorId = sectorDao.findByName("Secteur 0").orElseThrow().getId();
+        ClasseDto classe = classeService.get(classeDao.findBySectorId(sectorId).get(0).getId());
+        int threads = 8;
+
+        List<Object> outcomes = Contention.run(threads, n -> classeService.update(new ClasseDto(classe.getId(),
+                "Classe " + n, classe.getDescription(), sectorId, null, classe.getVersion())));
+
+        assertThat(outcomes).filteredOn(ClasseDto.class::isInstance).hasSize(1);
+        assertThat(outcomes).filteredOn(ConcurrentUpdateException.class::isInstance).hasSize(threads - 1);
+        ClasseDto winner = (ClasseDto) outcomes.stream().filter(ClasseDto.class::isInstance).findFirst().orElseThrow();
+        ClasseDto stored = classeService.get(classe.getId());
+        assertThat(stored.getClassName()).isEqualTo(winner.getClassName());
+        assertThat(stored.getVersion()).isEqualTo(classe.getVersion() + 1).isEqualTo(winner.getVersion());
+
+        // Une classe inexistante reste signalée comme telle, même avec une version
+        assertThatThrownBy(() -> classeService.update(
+                new ClasseDto(-1, "Inconnue", "Description", sectorId, null, 0L)))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void importClassesInsertsInBatchesAndReportsRowErrors() {
+        Integer sectorId = sectorDao.findByName("Secteur 0").orElseThrow().getId();
+        List<ClasseDto> classes = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            classes.add(new ClasseDto(null, "Import " + i, "Description " + i, sectorId, null));
+        }
+        classes.set(10, new ClasseDto(null, "", "Sans nom", sectorId, null));
+        classes.set(20, new ClasseDto(null, "Secteur inconnu", "Description", -1, null));
+        classes.set(30, null);
+        statistics.clear();
+
+        ClasseImportResultDto result = classeService.importClasses(classes);
+
+        assertThat(result.getTotal()).isEqualTo(250);
+        assertThat(result.getImported()).isEqualTo(247);
+        assertThat(result.getErrors()).extracting(e -> e.getRow()).containsExactly(11, 21, 31);
+        assertThat(classeDao.count()).isEqualTo(20 + 247);
+        // Lots JDBC : quelques requêtes préparées pour 247 INSERT, au lieu d'une par ligne
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(247);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(20);
+    }
+
+    @Test
+    void importClassesCsvStreamsRowsAndReportsMalformedLines() {
+        Integer sectorId = sectorDao.findByName("Secteur 3").orElseThrow().getId();
+        String csv = "className,description,idSector\n"
+                + "CSV 1,\"Description, avec virgule\"," + sectorId + "\n"
+                + "CSV 2,Description,pas-un-nombre\n"
+                + "CSV 3,Description\n"
+                + "CSV 4,Description," + sectorId + "\n";
+
+        ClasseImportResultDto result = classeService.importClassesCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.getTotal()).isEqualTo(4);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(e -> e.getRow()).containsExactly(3, 4);
+        assertThat(classeDao.findByClassName("CSV 1").orElseThrow().getDescription()).isEqualTo("Description, avec virgule");
+    }
+
+    @Test
+    void exportClassesWritesOneLinePerClasse() {
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        classeService.exportClasses(ExportFormat.CSV, csv);
+        List<String> csvLines = csv.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(csvLines).hasSize(21).first().isEqualTo("id,className,description,idSector,sectorName");
+        assertThat(csvLines.get(1)).contains(",Classe 0-0,Description 0,").endsWith(",Secteur 0");
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        classeService.exportClasses(ExportFormat.NDJSON, ndjson);
+        List<String> jsonLines = ndjson.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(jsonLines).hasSize(20).allSatisfy(line -> assertThat(line).startsWith("{").contains("\"sectorName\":\"Secteur "));
+    }
+
+    @Test
+    void getStatisticsAggregatesInOneQueryAndIsEvictedOnWrite() {
+        Integer emptySectorId = sectorDao.save(new SectorEntity(null, "Secteur vide", null, null, null)).getId();
+        statistics.clear();
+
+        ClasseStatisticsDto stats = classeService.getStatistics();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(stats.getTotalClasses()).isEqualTo(20);
+        assertThat(stats.getTotalSectors()).isEqualTo(6);
+        assertThat(stats.getClassesPerSector()).filteredOn(s -> s.getClassCount() == 4).hasSize(5);
+        assertThat(stats.getSectorsWithoutClasses()).extracting(s -> s.getSectorName()).containsExactly("Secteur vide");
+
+        classeService.getStatistics();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        classeService.save(new ClasseDto(null, "Nouvelle", "Description", emptySectorId, null));
+        assertThat(classeService.getStatistics().getSectorsWithoutClasses()).isEmpty();
+    }
+
+    @Test
+    void bulkOperationsRunOneStatementPerChunkAndReturnCounts() {
+        List<Integer> sector0 = idsOfSector("Secteur 0");
+        List<Integer> sector1 = idsOfSector("Secteur 1");
+        Integer target = sectorDao.findByName("Secteur 4").orElseThrow().getId();
+        statistics.clear();
+
+        List<Integer> toDelete = new ArrayList<>(sector0);
+        toDelete.add(sector0.get(0));
+        toDelete.add(-1);
+        ClasseBulkResultDto deleted = classeService.deleteAllById(toDelete);
+        assertThat(deleted.getRequested()).isEqualTo(5);
+        assertThat(deleted.getAffected()).isEqualTo(4);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        ClasseBulkResultDto moved = classeService.reassignSector(sector1, target);
+        assertThat(moved.getAffected()).isEqualTo(4);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(classeDao.findBySectorId(target)).hasSize(8);
+
+        Integer sector2 = sectorDao.findByName("Secteur 2").orElseThrow().getId();
+        ClasseBulkResultDto bySector = classeService.deleteAllBySector(sector2);
+        assertThat(bySector.getRequested()).isEqualTo(4);
+        assertThat(bySector.getAffected()).isEqualTo(4);
+        assertThat(classeDao.count()).isEqualTo(12);
+
+        assertThatThrownBy(() -> classeService.reassignSector(List.of(sector1.get(0)), -1))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> classeService.deleteAllById(List.of())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> classeService.delete(sector0.get(0))).isInstanceOf(EntityNotFoundException.class);
+    }
+
+    private List<Integer> idsOfSector(String sectorName) {
+        Integer sectorId = sectorDao.findByName(sectorName).orElseThrow().getId();
+        return classeDao.findBySectorId(sectorId).stream().map(ClasseEntity::getId).toList();
+    }
+}
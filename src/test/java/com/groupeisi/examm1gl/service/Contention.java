@@ -0,0 +1,58 @@
+package com.groupeisi.examm1gl.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntFunction;
+
+/**
+ * Outil de test qui lance la même écriture depuis plusieurs threads au même instant
+ * et collecte l'issue de chacune : le résultat, ou l'exception levée.
+ */
+final class Contention {
+
+    private Contention() {
+    }
+
+    /**
+     * Exécute {@code task} dans {@code threads} threads, libérés ensemble.
+     *
+     * @param threads Nombre de threads.
+     * @param task    Écriture à exécuter, qui reçoit le numéro du thread.
+     * @return L'issue de chaque thread, dans l'ordre des numéros : le résultat ou l'exception levée.
+     */
+    static List<Object> run(int threads, IntFunction<?> task) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Object>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                int n = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.apply(n);
+                }));
+            }
+            start.countDown();
+            List<Object> outcomes = new ArrayList<>(threads);
+            for (Future<Object> future : futures) {
+                try {
+                    outcomes.add(future.get(30, TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    outcomes.add(e.getCause());
+                } catch (TimeoutException e) {
+                    throw new IllegalStateException("Écriture concurrente bloquée", e);
+                }
+            }
+            return outcomes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.groupeisi.examm1gl.service;
+
+import com.groupeisi.examm1gl.config.CacheConfig;
+import com.groupeisi.examm1gl.config.RetryProperties;
+import com.groupeisi.examm1gl.dao.ClasseDao;
+import com.groupeisi.examm1gl.dao.IClasseDao;
+import com.groupeisi.examm1gl.dao.ISectorDao;
+import com.groupeisi.examm1gl.dto.SectorDto;
+import com.groupeisi.examm1gl.entity.ClasseEntity;
+import com.groupeisi.examm1gl.exception.ConcurrentUpdateException;
+import com.groupeisi.examm1gl.exception.EntityNotFoundException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class SectorServiceTests {
+
+    @Autowired
+    private IUSectorSrvice sectorService;
+    @Autowired
+    private ISectorDao sectorDao;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private IClasseDao classeDao;
+    @Autowired
+    private ClasseDao classeCriteriaDao;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private RetryProperties retryProperties;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        classeDao.deleteAllInBatch();
+        sectorDao.deleteAllInBatch();
+        entityManagerFactory.getCache().evictAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void repeatedReadsAreServedFromCache() {
+        SectorDto sector = sectorService.add(new SectorDto(null, "Informatique"));
+        statistics.clear();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(sectorService.getAll()).hasSize(1);
+            assertThat(sectorService.get(sector.getId()).getName()).isEqualTo("Informatique");
+            assertThat(sectorService.getSectorByName("Informatique").getId()).isEqualTo(sector.getId());
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void writesEvictOnlyTheAffectedEntries() {
+        SectorDto sector = sectorService.add(new SectorDto(null, "Gestion"));
+        assertThat(sectorService.getAll()).hasSize(1);
+        assertThat(sectorService.getSectorByName("Gestion")).isNotNull();
+
+        sectorService.update(new SectorDto(sector.getId(), "Management"));
+
+        assertThat(cacheManager.getCache(CacheConfig.SECTORS).get("all")).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.SECTOR_BY_NAME).get("Gestion")).isNull();
+        assertThat(sectorService.get(sector.getId()).getName()).isEqualTo("Management");
+        assertThat(sectorService.getAll()).extracting(SectorDto::getName).containsExactly("Management");
+
+        sectorService.delete(sector.getId());
+
+        assertThat(sectorService.getAll()).isEmpty();
+        assertThat(cacheManager.getCache(CacheConfig.SECTOR_BY_ID).get(sector.getId())).isNull();
+    }
+
+    @Test
+    void deleteRemovesClassesWithOneSetBasedStatement() {
+        SectorDto sector = sectorService.add(new SectorDto(null, "Secteur chargé"));
+        SectorDto other = sectorService.add(new SectorDto(null, "Autre secteur"));
+        for (int start = 0; start < 10_000; start += 1_000) {
+            int from = start;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<ClasseEntity> classes = new ArrayList<>(1_000);
+                for (int i = from; i < from + 1_000; i++) {
+                    classes.add(new ClasseEntity(null, "Classe " + i, "Description " + i,
+                            sectorDao.getReferenceById(sector.getId()), null, null));
+                }
+                classeCriteriaDao.insertAll(classes);
+            });
+        }
+        classeDao.save(new ClasseEntity(null, "Classe conservée", "Description",
+                sectorDao.getReferenceById(other.getId()), null, null));
+        statistics.clear();
+
+        sectorService.delete(sector.getId());
+
+        // Lecture du nom (caches), DELETE des classes, DELETE du secteur
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(classeDao.count()).isEqualTo(1);
+        assertThat(sectorDao.existsById(sector.getId())).isFalse();
+        assertThatThrownBy(() -> sectorService.delete(sector.getId())).isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void concurrentUpdatesOfTheSameVersionLetExactlyOneWriterWin() throws Exception {
+        SectorDto sector = sectorService.add(new SectorDto(null, "Informatique"));
+        int threads = 8;
+
+        List<Object> outcomes = Contention.run(threads,
+                n -> sectorService.update(new SectorDto(sector.getId(), "Informatique " + n, sector.getVersion())));
+
+        assertThat(outcomes).filteredOn(SectorDto.class::isInstance).hasSize(1);
+        assertThat(outcomes).filteredOn(ConcurrentUpdateException.class::isInstance).hasSize(threads - 1);
+        SectorDto winner = (SectorDto) outcomes.stream().filter(SectorDto.class::isInstance).findFirst().orElseThrow();
+        SectorDto stored = sectorService.get(sector.getId());
+        assertThat(stored.getName()).isEqualTo(winner.getName());
+        assertThat(stored.getVersion()).isEqualTo(sector.getVersion() + 1).isEqualTo(winner.getVersion());
+
+        // Une version périmée est refusée, même sans concurrence
+        assertThatThrownBy(() -> sectorService.update(new SectorDto(sector.getId(), "Périmé", sector.getVersion())))
+                .isInstanceOf(ConcurrentUpdateException.class);
+    }
+
+    @Test
+    void concurrentUnversionedUpdatesAreRetriedUntilTheyAllSucceed() throws Exception {
+        SectorDto sector = sectorService.add(new SectorDto(null, "Informatique"));
+        // Chaque échec d'un thread correspond au commit d'un autre : autant de threads que de tentatives
+        // garantit que chacun aboutit.
+        int threads = retryProperties.getMaxAttempts();
+
+        List<Object> outcomes = Contention.run(threads,
+                n -> sectorService.update(new SectorDto(sector.getId(), "Informatique " + n)));
+
+        assertThat(outcomes).allMatch(SectorDto.class::isInstance);
+        assertThat(sectorService.get(sector.getId()).getVersion()).isEqualTo(sector.getVersion() + threads);
+    }
+}